@@ -25,6 +25,7 @@ dependencies {
     bundledPlugin("com.intellij.java")
     bundledPlugin("org.jetbrains.plugins.yaml")
   }
+  testImplementation("junit:junit:4.13.2")
 }
 
 intellijPlatform {
@@ -0,0 +1,76 @@
+package com.springurlextractor;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+// Reports, on every save, the mappings Spring would reject at startup or find ambiguous at request time
+public final class AmbiguousMappingInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitMethod(@NotNull PsiMethod method) {
+                PsiAnnotation annotation = SpringUrlExtractor.findMappingAnnotation(method);
+                PsiClass psiClass = method.getContainingClass();
+                String className = psiClass != null ? psiClass.getQualifiedName() : null;
+                VirtualFile file = method.getContainingFile().getVirtualFile();
+                if (annotation == null || className == null || file == null) {
+                    return;
+                }
+
+                // Constants are evaluated, as the service does for the index entries it compares against
+                List<Endpoint> endpoints = EndpointIndex.createEndpoints(method, psiClass, className, true);
+                MappingConflictDetector detector = EndpointService.getInstance(holder.getProject()).getConflictDetector();
+                for (Endpoint endpoint : endpoints) {
+                    endpoint = endpoint.withFile(file);
+                    for (MappingConflictDetector.Conflict conflict : detector.findConflicts(endpoint)) {
+                        if (isSameMethod(conflict.other, endpoint)) {
+                            // Another path of this very method; the service re-reads this file's index entries
+                            // before answering, so the offsets are current
+                            continue;
+                        }
+                        holder.registerProblem(annotation, getMessage(conflict), getHighlightType(conflict.kind));
+                    }
+                }
+            }
+        };
+    }
+
+    private static ProblemHighlightType getHighlightType(MappingConflictDetector.Kind kind) {
+        switch (kind) {
+            case DUPLICATE:
+                return ProblemHighlightType.GENERIC_ERROR;
+            case AMBIGUOUS:
+                return ProblemHighlightType.GENERIC_ERROR_OR_WARNING;
+            default:
+                return ProblemHighlightType.WEAK_WARNING;
+        }
+    }
+
+    static String getMessage(MappingConflictDetector.Conflict conflict) {
+        switch (conflict.kind) {
+            case DUPLICATE:
+                return "Duplicate mapping " + conflict.endpoint + ": also mapped by " +
+                        conflict.other.getPresentableOwner();
+            case AMBIGUOUS:
+                return "Ambiguous mapping " + conflict.endpoint + ": " + conflict.other + " in " +
+                        conflict.other.getPresentableOwner() + " matches the same requests with equal specificity";
+            default:
+                return "Overlapping mapping " + conflict.endpoint + ": " + conflict.other.getPresentableOwner() +
+                        " maps the same path" + (conflict.other.isAnyMethod() ? " for every method" : "") +
+                        "; Spring sends the shared requests to the mapping that names the method";
+        }
+    }
+
+    private static boolean isSameMethod(Endpoint other, Endpoint endpoint) {
+        // By position, since overloads share the class and method name and may well be real duplicates
+        return endpoint.getFile().equals(other.getFile()) && endpoint.getOffset() == other.getOffset();
+    }
+}
@@ -0,0 +1,161 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.concurrency.CancellablePromise;
+import org.jetbrains.uast.UMethod;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+// Builds the request model of every mapped method in many files at once, spreading batches of files across cores
+final class BulkEndpointExtractor {
+    private static final ExecutorService EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "Spring Endpoint Extraction", Runtime.getRuntime().availableProcessors());
+    private static final int BATCH_SIZE = 32;
+    private static final Set<String> SOURCE_EXTENSIONS = Set.of("java", "kt");
+
+    private final Project project;
+    private final CurlGenerator curlGenerator;
+
+    BulkEndpointExtractor(Project project) {
+        this.project = project;
+        this.curlGenerator = new CurlGenerator(project);
+    }
+
+    // Java and Kotlin source files under the given roots, sorted by path. Looked up in the file name index rather
+    // than by walking the roots, in a read action that gives way to writes and stops when the indicator is cancelled.
+    List<VirtualFile> collectSourceFiles(Collection<VirtualFile> roots, ProgressIndicator indicator) {
+        return ReadAction.nonBlocking(() -> {
+            List<VirtualFile> directories = new ArrayList<>();
+            List<VirtualFile> plainFiles = new ArrayList<>();
+            for (VirtualFile root : roots) {
+                if (root.isValid()) {
+                    (root.isDirectory() ? directories : plainFiles).add(root);
+                }
+            }
+            GlobalSearchScope scope = GlobalSearchScopesCore
+                    .directoriesScope(project, true, directories.toArray(VirtualFile.EMPTY_ARRAY))
+                    .union(GlobalSearchScope.filesScope(project, plainFiles));
+
+            ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+            List<VirtualFile> files = new ArrayList<>();
+            for (String extension : SOURCE_EXTENSIONS) {
+                for (VirtualFile file : FilenameIndex.getAllFilesByExt(project, extension, scope)) {
+                    ProgressManager.checkCanceled();
+                    if (fileIndex.isInSourceContent(file)) {
+                        files.add(file);
+                    }
+                }
+            }
+            files.sort(Comparator.comparing(VirtualFile::getPath));
+            return files;
+        }).inSmartMode(project).wrapProgress(indicator).executeSynchronously();
+    }
+
+    List<EndpointRequest> extract(List<VirtualFile> files, ProgressIndicator indicator) {
+        List<EndpointRequest> result = new ArrayList<>();
+        extract(files, indicator, result::addAll);
+        return result;
+    }
+
+    // Hands each batch's requests to the consumer in file order as soon as the batch is done. Only a few
+    // batches are in flight at a time, so memory stays flat however many endpoints the files contain.
+    void extract(List<VirtualFile> files, ProgressIndicator indicator, Consumer<List<EndpointRequest>> consumer) {
+        // Resolve every server config once up front, so the workers only ever hit the cache
+        ReadAction.nonBlocking(() -> {
+            ServerConfigService configService = ServerConfigService.getInstance(project);
+            for (Module module : ModuleManager.getInstance(project).getModules()) {
+                configService.getServerConfig(module);
+            }
+        }).inSmartMode(project).wrapProgress(indicator).executeSynchronously();
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int batchSize = Math.max(1, Math.min(BATCH_SIZE, files.size() / (parallelism * 4)));
+        int batchCount = (files.size() + batchSize - 1) / batchSize;
+        Deque<CancellablePromise<List<EndpointRequest>>> inFlight = new ArrayDeque<>();
+        try {
+            int submitted = 0;
+            for (int done = 0; done < batchCount; done++) {
+                while (submitted < batchCount && inFlight.size() < parallelism * 2) {
+                    int start = submitted * batchSize;
+                    List<VirtualFile> batch = files.subList(start, Math.min(files.size(), start + batchSize));
+                    inFlight.add(ReadAction.nonBlocking(() -> extractBatch(batch))
+                            .inSmartMode(project)
+                            .wrapProgress(indicator)
+                            .submit(EXECUTOR));
+                    submitted++;
+                }
+                indicator.checkCanceled();
+                List<EndpointRequest> requests = inFlight.poll().get();
+                indicator.checkCanceled();
+                if (requests == null) {
+                    // A promise cancelled along with the indicator may complete without a value
+                    throw new ProcessCanceledException();
+                }
+                consumer.accept(requests);
+                indicator.setFraction((double) (done + 1) / batchCount);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        } catch (CancellationException e) {
+            throw new ProcessCanceledException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessCanceledException) {
+                throw (ProcessCanceledException) e.getCause();
+            }
+            throw new ProcessCanceledException(e);
+        } finally {
+            for (CancellablePromise<List<EndpointRequest>> batch : inFlight) {
+                batch.cancel();
+            }
+        }
+    }
+
+    private List<EndpointRequest> extractBatch(List<VirtualFile> files) {
+        PsiManager psiManager = PsiManager.getInstance(project);
+        List<EndpointRequest> result = new ArrayList<>();
+        for (VirtualFile file : files) {
+            ProgressManager.checkCanceled();
+            PsiFile psiFile = file.isValid() ? psiManager.findFile(file) : null;
+            if (psiFile instanceof PsiJavaFile) {
+                for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+                    extractClass(psiClass, result);
+                }
+            } else if (psiFile != null && UastMappingSupport.isSupported(psiFile)) {
+                for (UMethod method : UastMappingSupport.getMappedMethods(psiFile)) {
+                    result.addAll(curlGenerator.buildRequests(method));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void extractClass(PsiClass psiClass, List<EndpointRequest> result) {
+        for (PsiMethod method : psiClass.getMethods()) {
+            if (InheritedMappingResolver.findMappingSource(method) == null) {
+                continue;
+            }
+            result.addAll(curlGenerator.buildRequests(method));
+        }
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            extractClass(innerClass, result);
+        }
+    }
+}
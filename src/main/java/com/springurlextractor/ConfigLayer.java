@@ -0,0 +1,215 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+// One application[-profile].yml|yaml|properties file, split into its documents
+final class ConfigLayer {
+    static final String ACTIVE_PROFILES_KEY = "spring.profiles.active";
+    private static final String ON_PROFILE_KEY = "spring.config.activate.on-profile";
+    private static final String LEGACY_ON_PROFILE_KEY = "spring.profiles";
+
+    private static final Key<ParsedLayer> PARSED_LAYER = Key.create("springurlextractor.parsedLayer");
+
+    static final DataExternalizer<ConfigLayer> EXTERNALIZER = new DataExternalizer<>() {
+        @Override
+        public void save(@NotNull DataOutput out, ConfigLayer layer) throws IOException {
+            IOUtil.writeUTF(out, layer.profile);
+            out.writeBoolean(layer.propertiesFormat);
+            DataInputOutputUtil.writeINT(out, layer.documents.size());
+            for (ConfigDocument document : layer.documents) {
+                out.writeBoolean(document.onProfile != null);
+                if (document.onProfile != null) {
+                    IOUtil.writeUTF(out, document.onProfile);
+                }
+                DataInputOutputUtil.writeINT(out, document.properties.size());
+                for (Map.Entry<String, String> entry : document.properties.entrySet()) {
+                    IOUtil.writeUTF(out, entry.getKey());
+                    IOUtil.writeUTF(out, entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        public ConfigLayer read(@NotNull DataInput in) throws IOException {
+            String profile = IOUtil.readUTF(in);
+            boolean propertiesFormat = in.readBoolean();
+            int documentCount = DataInputOutputUtil.readINT(in);
+            List<ConfigDocument> documents = new ArrayList<>(documentCount);
+            for (int i = 0; i < documentCount; i++) {
+                String onProfile = in.readBoolean() ? IOUtil.readUTF(in) : null;
+                int size = DataInputOutputUtil.readINT(in);
+                Map<String, String> properties = new LinkedHashMap<>();
+                for (int j = 0; j < size; j++) {
+                    properties.put(IOUtil.readUTF(in), IOUtil.readUTF(in));
+                }
+                documents.add(new ConfigDocument(onProfile, properties));
+            }
+            return new ConfigLayer(profile, propertiesFormat, documents);
+        }
+    };
+
+    final String profile;
+    final boolean propertiesFormat;
+    private final List<ConfigDocument> documents;
+
+    private ConfigLayer(String profile, boolean propertiesFormat, List<ConfigDocument> documents) {
+        this.profile = profile;
+        this.propertiesFormat = propertiesFormat;
+        this.documents = documents;
+    }
+
+    // "" for application.yml, "prod" for application-prod.yml, null for anything that is not a config file
+    static String getFileProfile(String fileName) {
+        String baseName;
+        if (fileName.endsWith(".properties")) {
+            baseName = fileName.substring(0, fileName.length() - ".properties".length());
+        } else if (fileName.endsWith(".yml")) {
+            baseName = fileName.substring(0, fileName.length() - ".yml".length());
+        } else if (fileName.endsWith(".yaml")) {
+            baseName = fileName.substring(0, fileName.length() - ".yaml".length());
+        } else {
+            return null;
+        }
+
+        if ("application".equals(baseName)) {
+            return "";
+        }
+        if (baseName.startsWith("application-") && baseName.length() > "application-".length()) {
+            return baseName.substring("application-".length());
+        }
+        return null;
+    }
+
+    static ConfigLayer parse(String fileName, CharSequence text) {
+        boolean propertiesFormat = fileName.endsWith(".properties");
+        List<Map<String, String>> parsed = propertiesFormat
+                ? PropertiesConfigReader.parse(text)
+                : YamlConfigScanner.scan(text);
+
+        List<ConfigDocument> documents = new ArrayList<>(parsed.size());
+        for (Map<String, String> properties : parsed) {
+            String onProfile = properties.get(ON_PROFILE_KEY);
+            if (onProfile == null) {
+                onProfile = properties.get(LEGACY_ON_PROFILE_KEY);
+            }
+
+            documents.add(new ConfigDocument(onProfile, properties));
+        }
+        return new ConfigLayer(Objects.requireNonNull(getFileProfile(fileName)), propertiesFormat, documents);
+    }
+
+    // Parsed once per modification stamp, from the editor's text when the file is open (including unsaved edits)
+    static ConfigLayer load(VirtualFile file) {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        long stamp = document != null ? document.getModificationStamp() : file.getModificationStamp();
+        ParsedLayer cached = file.getUserData(PARSED_LAYER);
+        if (cached != null && cached.modificationStamp == stamp) {
+            return cached.layer;
+        }
+
+        CharSequence content = document != null ? document.getImmutableCharSequence() : LoadTextUtil.loadText(file);
+        ConfigLayer layer = parse(file.getName(), content);
+        file.putUserData(PARSED_LAYER, new ParsedLayer(stamp, layer));
+        return layer;
+    }
+
+    // Later documents override earlier ones; profile-specific documents apply only when their profile is active
+    String get(String key, List<String> activeProfiles) {
+        for (int i = documents.size() - 1; i >= 0; i--) {
+            ConfigDocument document = documents.get(i);
+            if (document.onProfile != null && !matchesProfiles(document.onProfile, activeProfiles)) {
+                continue;
+            }
+            String value = document.properties.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    // Supports "a,b", "a | b", "a & b" and "!a" profile expressions
+    static boolean matchesProfiles(String expression, List<String> activeProfiles) {
+        for (String alternative : expression.split("[,|]")) {
+            boolean matches = true;
+            for (String term : alternative.split("&")) {
+                String profileName = term.trim();
+                boolean negated = profileName.startsWith("!");
+                if (negated) {
+                    profileName = profileName.substring(1).trim();
+                }
+                if (profileName.isEmpty()) {
+                    continue;
+                }
+                if (activeProfiles.contains(profileName) == negated) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConfigLayer)) return false;
+        ConfigLayer that = (ConfigLayer) o;
+        return propertiesFormat == that.propertiesFormat && profile.equals(that.profile) &&
+                documents.equals(that.documents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(profile, propertiesFormat, documents);
+    }
+
+    private static class ConfigDocument {
+        final String onProfile;
+        final Map<String, String> properties;
+
+        ConfigDocument(String onProfile, Map<String, String> properties) {
+            this.onProfile = onProfile;
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ConfigDocument)) return false;
+            ConfigDocument that = (ConfigDocument) o;
+            return Objects.equals(onProfile, that.onProfile) && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(onProfile, properties);
+        }
+    }
+
+    private static class ParsedLayer {
+        final long modificationStamp;
+        final ConfigLayer layer;
+
+        ParsedLayer(long modificationStamp, ConfigLayer layer) {
+            this.modificationStamp = modificationStamp;
+            this.layer = layer;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.springurlextractor;
+
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.*;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.datatransfer.StringSelection;
+import java.util.*;
+
+// Project View action: URLs and cURL commands of every endpoint in the selected files, packages or modules
+public class CopyAllEndpointsAction extends AnAction {
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        List<VirtualFile> roots = getSelectedRoots(e);
+        if (project == null || roots.isEmpty()) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Extracting Spring endpoints", true) {
+            private String text;
+            private int count;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                BulkEndpointExtractor extractor = new BulkEndpointExtractor(project);
+                List<VirtualFile> files = extractor.collectSourceFiles(roots, indicator);
+                List<EndpointRequest> endpoints = extractor.extract(files, indicator);
+
+                StringBuilder builder = new StringBuilder();
+                for (EndpointRequest endpoint : endpoints) {
+                    builder.append("# ").append(endpoint.name).append("\n")
+                            .append("# ").append(endpoint.httpMethod).append(" ").append(endpoint.url).append("\n")
+                            .append(CurlGenerator.formatCurl(endpoint)).append("\n\n");
+                }
+                text = builder.toString();
+                count = endpoints.size();
+            }
+
+            @Override
+            public void onSuccess() {
+                if (count == 0) {
+                    SpringActionSupport.notify(project, "No Endpoints Found",
+                            "No Spring mapping annotations found in the selection", NotificationType.WARNING);
+                    return;
+                }
+                CopyPasteManager.getInstance().setContents(new StringSelection(text));
+                SpringActionSupport.notify(project, "Spring Endpoints Extracted",
+                        count + " URLs and cURL commands copied to clipboard", NotificationType.INFORMATION);
+            }
+        });
+    }
+
+    static List<VirtualFile> getSelectedRoots(AnActionEvent e) {
+        Set<VirtualFile> roots = new LinkedHashSet<>();
+        VirtualFile[] files = e.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (files != null) {
+            roots.addAll(Arrays.asList(files));
+        }
+        Module[] modules = e.getData(LangDataKeys.MODULE_CONTEXT_ARRAY);
+        if (modules != null) {
+            for (Module module : modules) {
+                roots.addAll(Arrays.asList(ModuleRootManager.getInstance(module).getContentRoots()));
+            }
+        }
+        return new ArrayList<>(roots);
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && !getSelectedRoots(e).isEmpty());
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
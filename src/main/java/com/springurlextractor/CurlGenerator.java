@@ -1,10 +1,15 @@
 package com.springurlextractor;
 
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
+import com.springurlextractor.EndpointRequest.PathVariable;
+import com.springurlextractor.EndpointRequest.RequestParam;
+import org.jetbrains.uast.UAnnotation;
+import org.jetbrains.uast.UMethod;
+import org.jetbrains.uast.UParameter;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CurlGenerator {
     private final Project project;
@@ -32,46 +37,151 @@ public class CurlGenerator {
         this.urlExtractor = new SpringUrlExtractor(project);
     }
 
-    public String generateCurl(PsiMethod method) {
-        String url = urlExtractor.extractUrl(method);
-        if (url == null) {
-            return null;
+    // One command per URL of the method, see SpringUrlExtractor.extractUrl
+    public List<String> generateCurl(PsiMethod method) {
+        List<String> commands = new ArrayList<>();
+        for (EndpointRequest request : buildRequests(method)) {
+            commands.add(formatCurl(request));
+        }
+        return commands;
+    }
+
+    // Everything a request needs, computed once so every output format renders the same model.
+    // Parameters and body are shared by all URLs of the method.
+    List<EndpointRequest> buildRequests(PsiMethod method) {
+        if (method instanceof UMethod) {
+            return buildRequests((UMethod) method);
+        }
+        List<String> urls = urlExtractor.extractUrl(method);
+        if (urls.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // The method itself, or the overridden one its mapping is inherited from
+        PsiMethod mappingSource = InheritedMappingResolver.findMappingSource(method);
+        String httpMethod = resolveHttpMethod(mappingSource);
+        List<PathVariable> pathVariables = extractPathVariables(method, mappingSource);
+        List<RequestParam> requestParams = extractRequestParams(method, mappingSource);
+        RequestBodyInfo requestBody = extractRequestBody(method, mappingSource);
+        String contentType = getContentType(mappingSource, requestBody);
+        String body = requestBody != null ? generateJsonFromClass(requestBody.psiClass) : null;
+        return createRequests(method, urls, httpMethod, pathVariables, requestParams, contentType, body);
+    }
+
+    // Kotlin controllers, read through UAST with the same rules as the Java path above
+    List<EndpointRequest> buildRequests(UMethod method) {
+        List<String> urls = urlExtractor.extractUrl(method);
+        if (urls.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PathVariable> pathVariables = new ArrayList<>();
+        List<RequestParam> requestParams = new ArrayList<>();
+        UParameter bodyParameter = null;
+        Set<String> parameterAnnotations = new HashSet<>(PATH_VARIABLE_ANNOTATIONS);
+        parameterAnnotations.addAll(REQUEST_PARAM_ANNOTATIONS);
+        parameterAnnotations.addAll(BODY_ANNOTATIONS);
+        for (UParameter parameter : method.getUastParameters()) {
+            UAnnotation annotation = UastMappingSupport.findAnnotation(parameter, parameterAnnotations);
+            String annotationName = annotation != null ? UastMappingSupport.getShortName(annotation) : "";
+            if (PATH_VARIABLE_ANNOTATIONS.contains(annotationName)) {
+                pathVariables.add(new PathVariable(getParameterName(annotation, parameter), getParameterType(parameter)));
+            } else if (REQUEST_PARAM_ANNOTATIONS.contains(annotationName)) {
+                requestParams.add(new RequestParam(getParameterName(annotation, parameter), getParameterType(parameter),
+                        UastMappingSupport.getBoolean(annotation, "required", true),
+                        UastMappingSupport.getString(annotation, "defaultValue")));
+            } else if (BODY_ANNOTATIONS.contains(annotationName)) {
+                if (bodyParameter == null) {
+                    bodyParameter = parameter;
+                }
+            } else if (!isComplexType(parameter.getType())) {
+                // If no special annotation, treat as request param for GET requests
+                requestParams.add(new RequestParam(parameter.getName(), getParameterType(parameter), false, null));
+            }
         }
 
-        String httpMethod = getHttpMethod(method);
-        List<PathVariable> pathVariables = extractPathVariables(method);
-        List<RequestParam> requestParams = extractRequestParams(method);
-        RequestBodyInfo requestBody = extractRequestBody(method);
-        String contentType = getContentType(method, requestBody);
+        String contentType = null;
+        String body = null;
+        if (bodyParameter != null) {
+            UAnnotation requestMapping = UastMappingSupport.findAnnotation(method, Set.of("RequestMapping"));
+            String consumes = requestMapping != null ? UastMappingSupport.getString(requestMapping, "consumes") : null;
+            contentType = consumes != null && !consumes.isEmpty() ? consumes : "application/json";
+            body = generateJsonFromClass(getPsiClassFromType(bodyParameter.getType()));
+        }
+        return createRequests(method, urls, UastMappingSupport.getHttpMethod(method), pathVariables, requestParams,
+                contentType, body);
+    }
 
-        return buildCurlCommand(url, httpMethod, pathVariables, requestParams, requestBody, contentType);
+    private static String getParameterName(UAnnotation annotation, UParameter parameter) {
+        String name = UastMappingSupport.getString(annotation, "value");
+        if (name == null || name.isEmpty()) {
+            name = UastMappingSupport.getString(annotation, "name");
+        }
+        return name != null && !name.isEmpty() ? name : parameter.getName();
     }
 
-    private String getHttpMethod(PsiMethod method) {
+    private static List<EndpointRequest> createRequests(PsiMethod method, List<String> urls, String httpMethod,
+                                                        List<PathVariable> pathVariables,
+                                                        List<RequestParam> requestParams,
+                                                        String contentType, String body) {
+        PsiClass containingClass = method.getContainingClass();
+        String name = (containingClass != null ? containingClass.getName() + "#" : "") + method.getName();
+        List<EndpointRequest> requests = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            requests.add(new EndpointRequest(name, httpMethod, url, pathVariables, requestParams, contentType, body));
+        }
+        return requests;
+    }
+
+    static String getHttpMethod(PsiMethod method) {
         for (PsiAnnotation annotation : method.getAnnotations()) {
-            String annotationName = getAnnotationShortName(annotation);
-            switch (annotationName) {
-                case "GetMapping":
-                    return "GET";
-                case "PostMapping":
-                    return "POST";
-                case "PutMapping":
-                    return "PUT";
-                case "DeleteMapping":
-                    return "DELETE";
-                case "PatchMapping":
-                    return "PATCH";
-                case "RequestMapping":
-                    return extractMethodFromRequestMapping(annotation);
+            String httpMethod = getHttpMethod(annotation);
+            if (httpMethod != null) {
+                return httpMethod;
             }
         }
         return "GET"; // Default
     }
 
-    private String extractMethodFromRequestMapping(PsiAnnotation annotation) {
-        PsiAnnotationMemberValue methodValue = annotation.findAttributeValue("method");
-        if (methodValue != null) {
-            String methodText = methodValue.getText();
+    // Like getHttpMethod, but also follows composed annotations such as @ApiGet; needs resolve
+    static String resolveHttpMethod(PsiMethod method) {
+        if (!SpringUrlExtractor.isMappedMethod(method)) {
+            MappingAnnotationResolver.Mapping mapping = MappingAnnotationResolver.findComposedMapping(method);
+            if (mapping != null) {
+                return mapping.httpMethod;
+            }
+        }
+        return getHttpMethod(method);
+    }
+
+    // Verb of a built-in mapping annotation, or null for any other annotation
+    static String getHttpMethod(PsiAnnotation annotation) {
+        PsiAnnotationMemberValue methodValue = annotation.findDeclaredAttributeValue("method");
+        return getHttpMethod(getAnnotationShortName(annotation), methodValue != null ? methodValue.getText() : null);
+    }
+
+    // Verb for a mapping annotation's short name and the source text of its "method" attribute, if set
+    static String getHttpMethod(String annotationShortName, String methodText) {
+        switch (annotationShortName) {
+            case "GetMapping":
+                return "GET";
+            case "PostMapping":
+                return "POST";
+            case "PutMapping":
+                return "PUT";
+            case "DeleteMapping":
+                return "DELETE";
+            case "PatchMapping":
+                return "PATCH";
+            case "RequestMapping":
+                return extractMethodFromRequestMapping(methodText);
+            default:
+                return null;
+        }
+    }
+
+    private static String extractMethodFromRequestMapping(String methodText) {
+        if (methodText != null) {
             if (methodText.contains("POST")) return "POST";
             if (methodText.contains("PUT")) return "PUT";
             if (methodText.contains("DELETE")) return "DELETE";
@@ -80,12 +190,13 @@ public class CurlGenerator {
         return "GET";
     }
 
-    private List<PathVariable> extractPathVariables(PsiMethod method) {
+    private List<PathVariable> extractPathVariables(PsiMethod method, PsiMethod mappingSource) {
         List<PathVariable> pathVars = new ArrayList<>();
         PsiParameter[] parameters = method.getParameterList().getParameters();
 
-        for (PsiParameter parameter : parameters) {
-            for (PsiAnnotation annotation : parameter.getAnnotations()) {
+        for (int i = 0; i < parameters.length; i++) {
+            PsiParameter parameter = parameters[i];
+            for (PsiAnnotation annotation : getParameterAnnotations(method, mappingSource, i)) {
                 String annotationName = getAnnotationShortName(annotation);
                 if (PATH_VARIABLE_ANNOTATIONS.contains(annotationName)) {
                     String name = extractAnnotationStringValue(annotation, "value");
@@ -105,15 +216,16 @@ public class CurlGenerator {
         return pathVars;
     }
 
-    private List<RequestParam> extractRequestParams(PsiMethod method) {
+    private List<RequestParam> extractRequestParams(PsiMethod method, PsiMethod mappingSource) {
         List<RequestParam> requestParams = new ArrayList<>();
         PsiParameter[] parameters = method.getParameterList().getParameters();
 
-        for (PsiParameter parameter : parameters) {
+        for (int i = 0; i < parameters.length; i++) {
+            PsiParameter parameter = parameters[i];
             boolean hasSpecialAnnotation = false;
 
             // Check if parameter has body or path variable annotation
-            for (PsiAnnotation annotation : parameter.getAnnotations()) {
+            for (PsiAnnotation annotation : getParameterAnnotations(method, mappingSource, i)) {
                 String annotationName = getAnnotationShortName(annotation);
                 if (BODY_ANNOTATIONS.contains(annotationName) ||
                         PATH_VARIABLE_ANNOTATIONS.contains(annotationName)) {
@@ -149,11 +261,12 @@ public class CurlGenerator {
         return requestParams;
     }
 
-    private RequestBodyInfo extractRequestBody(PsiMethod method) {
+    private RequestBodyInfo extractRequestBody(PsiMethod method, PsiMethod mappingSource) {
         PsiParameter[] parameters = method.getParameterList().getParameters();
 
-        for (PsiParameter parameter : parameters) {
-            for (PsiAnnotation annotation : parameter.getAnnotations()) {
+        for (int i = 0; i < parameters.length; i++) {
+            PsiParameter parameter = parameters[i];
+            for (PsiAnnotation annotation : getParameterAnnotations(method, mappingSource, i)) {
                 String annotationName = getAnnotationShortName(annotation);
                 if (BODY_ANNOTATIONS.contains(annotationName)) {
                     String type = getParameterType(parameter);
@@ -165,6 +278,20 @@ public class CurlGenerator {
         return null;
     }
 
+    // Parameter annotations such as @PathVariable are inherited along with the mapping, as in Spring 5.1+;
+    // the parameter's own annotations come first
+    private static List<PsiAnnotation> getParameterAnnotations(PsiMethod method, PsiMethod mappingSource, int index) {
+        List<PsiAnnotation> annotations =
+                new ArrayList<>(Arrays.asList(method.getParameterList().getParameters()[index].getAnnotations()));
+        if (mappingSource != method) {
+            PsiParameter[] sourceParameters = mappingSource.getParameterList().getParameters();
+            if (index < sourceParameters.length) {
+                annotations.addAll(Arrays.asList(sourceParameters[index].getAnnotations()));
+            }
+        }
+        return annotations;
+    }
+
     private String getContentType(PsiMethod method, RequestBodyInfo requestBody) {
         if (requestBody == null) {
             return null;
@@ -187,43 +314,22 @@ public class CurlGenerator {
         return "application/json"; // Default for request body
     }
 
-    private String buildCurlCommand(String url, String httpMethod, List<PathVariable> pathVariables,
-                                    List<RequestParam> requestParams, RequestBodyInfo requestBody,
-                                    String contentType) {
+    static String formatCurl(EndpointRequest request) {
         StringBuilder curl = new StringBuilder();
-        curl.append("curl -X ").append(httpMethod);
-
-        // Replace path variables in URL
-        String finalUrl = url;
-        for (PathVariable pathVar : pathVariables) {
-            String placeholder = "{" + pathVar.name + "}";
-            String replacement = "${" + pathVar.name.toUpperCase() + "}";
-            finalUrl = finalUrl.replace(placeholder, replacement);
-        }
-
-        // Add query parameters
-        if (!requestParams.isEmpty()) {
-            List<String> queryParams = requestParams.stream()
-                    .map(param -> param.name + "=${" + param.name.toUpperCase() + "}")
-                    .collect(Collectors.toList());
-
-            if (finalUrl.contains("?")) {
-                finalUrl += "&" + String.join("&", queryParams);
-            } else {
-                finalUrl += "?" + String.join("&", queryParams);
-            }
-        }
+        curl.append("curl -X ").append(request.httpMethod);
+
+        // Path variables and query parameters become shell variables
+        String finalUrl = request.getUrl(name -> "${" + name.toUpperCase() + "}");
 
         // Add headers
-        if (contentType != null) {
-            curl.append(" \\\n  -H \"Content-Type: ").append(contentType).append("\"");
+        if (request.contentType != null) {
+            curl.append(" \\\n  -H \"Content-Type: ").append(request.contentType).append("\"");
         }
         curl.append(" \\\n  -H \"Accept: application/json\"");
 
         // Add request body
-        if (requestBody != null) {
-            String jsonBody = generateJsonFromClass(requestBody.psiClass);
-            curl.append(" \\\n  -d '").append(jsonBody).append("'");
+        if (request.body != null) {
+            curl.append(" \\\n  -d '").append(request.body).append("'");
         }
 
         // Add URL
@@ -233,12 +339,12 @@ public class CurlGenerator {
         StringBuilder comments = new StringBuilder();
         comments.append("\n\n# Variables to replace:");
 
-        for (PathVariable pathVar : pathVariables) {
+        for (PathVariable pathVar : request.pathVariables) {
             comments.append("\n# ").append(pathVar.name.toUpperCase())
                     .append(" - Path variable (").append(pathVar.type).append(")");
         }
 
-        for (RequestParam requestParam : requestParams) {
+        for (RequestParam requestParam : request.requestParams) {
             comments.append("\n# ").append(requestParam.name.toUpperCase())
                     .append(" - Request parameter (").append(requestParam.type).append(")");
             if (!requestParam.required) {
@@ -252,12 +358,8 @@ public class CurlGenerator {
         return curl.toString() + comments.toString();
     }
 
-    private String getAnnotationShortName(PsiAnnotation annotation) {
-        String qualifiedName = annotation.getQualifiedName();
-        if (qualifiedName == null) {
-            return "";
-        }
-        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+    private static String getAnnotationShortName(PsiAnnotation annotation) {
+        return SpringUrlExtractor.getAnnotationShortName(annotation);
     }
 
     private String extractAnnotationStringValue(PsiAnnotation annotation, String attributeName) {
@@ -279,18 +381,9 @@ public class CurlGenerator {
         return defaultValue;
     }
 
+    // Also evaluates constants, e.g. consumes = MediaType.APPLICATION_JSON_VALUE
     private String extractStringFromAnnotationValue(PsiAnnotationMemberValue value) {
-        if (value instanceof PsiLiteralExpression) {
-            Object literalValue = ((PsiLiteralExpression) value).getValue();
-            return literalValue != null ? literalValue.toString() : "";
-        } else if (value instanceof PsiArrayInitializerMemberValue) {
-            PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
-            if (initializers.length > 0 && initializers[0] instanceof PsiLiteralExpression) {
-                Object literalValue = ((PsiLiteralExpression) initializers[0]).getValue();
-                return literalValue != null ? literalValue.toString() : "";
-            }
-        }
-        return "";
+        return SpringUrlExtractor.extractStringFromAnnotationValue(value, true);
     }
 
     private String getParameterType(PsiParameter parameter) {
@@ -326,6 +419,7 @@ public class CurlGenerator {
     }
 
     private String generateJsonFromClass(PsiClass psiClass, Set<String> processedClasses, int depth) {
+        ProgressManager.checkCanceled();
         if (psiClass == null || depth > 5) { // Prevent infinite recursion
             return "{}";
         }
@@ -348,9 +442,8 @@ public class CurlGenerator {
         List<PsiField> allFields = getAllFields(psiClass);
 
         for (PsiField field : allFields) {
-            // Skip static and final fields
-            if (field.hasModifierProperty(PsiModifier.STATIC) ||
-                    field.hasModifierProperty(PsiModifier.FINAL)) {
+            // Skip static fields; final ones are still serialized, e.g. record components or a Kotlin data class's vals
+            if (field.hasModifierProperty(PsiModifier.STATIC)) {
                 continue;
             }
 
@@ -427,6 +520,7 @@ public class CurlGenerator {
     }
 
     private String generateFieldValue(PsiType fieldType, Set<String> processedClasses, int depth) {
+        ProgressManager.checkCanceled();
         String typeName = fieldType.getPresentableText();
 
         // Handle primitive types and common types
@@ -501,31 +595,6 @@ public class CurlGenerator {
         return "null";
     }
 
-    // Inner classes for data structures
-    private static class PathVariable {
-        final String name;
-        final String type;
-
-        PathVariable(String name, String type) {
-            this.name = name;
-            this.type = type;
-        }
-    }
-
-    private static class RequestParam {
-        final String name;
-        final String type;
-        final boolean required;
-        final String defaultValue;
-
-        RequestParam(String name, String type, boolean required, String defaultValue) {
-            this.name = name;
-            this.type = type;
-            this.required = required;
-            this.defaultValue = defaultValue;
-        }
-    }
-
     private static class RequestBodyInfo {
         final String name;
         final String type;
@@ -537,4 +606,4 @@ public class CurlGenerator {
             this.psiClass = psiClass;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,11 @@
 package com.springurlextractor;
 
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.actionSystem.CommonDataKeys;
-import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.ide.CopyPasteManager;
-import com.intellij.openapi.project.Project;
-import com.intellij.openapi.ui.Messages;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiMethod;
-import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
 
 import java.awt.datatransfer.StringSelection;
 
@@ -18,37 +13,31 @@ public class CurlGeneratorAction extends AnAction {
 
     @Override
     public void actionPerformed(AnActionEvent e) {
-        Project project = e.getProject();
-        Editor editor = e.getData(CommonDataKeys.EDITOR);
-        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
-
-        if (project == null || editor == null || psiFile == null) {
-            return;
-        }
-
-        PsiElement element = psiFile.findElementAt(editor.getCaretModel().getOffset());
-        PsiMethod method = PsiTreeUtil.getParentOfType(element, PsiMethod.class);
-
-        if (method == null) {
-            Messages.showInfoMessage("Please place cursor inside a controller method", "No Method Found");
-            return;
-        }
-
-        CurlGenerator generator = new CurlGenerator(project);
-        String curlCommand = generator.generateCurl(method);
-
-        if (curlCommand != null && !curlCommand.isEmpty()) {
-            // Copy to clipboard
-            CopyPasteManager.getInstance().setContents(new StringSelection(curlCommand));
-            Messages.showInfoMessage("cURL command copied to clipboard", "cURL Generated");
-        } else {
-            Messages.showInfoMessage("No Spring mapping annotation found", "No cURL Generated");
-        }
+        SpringActionSupport.computeForCaretMethod(e, "Generating cURL command",
+                method -> new CurlGenerator(method.getProject()).generateCurl(method),
+                (project, curlCommands) -> {
+                    if (curlCommands != null && !curlCommands.isEmpty()) {
+                        // Copy to clipboard
+                        CopyPasteManager.getInstance().setContents(
+                                new StringSelection(String.join("\n\n", curlCommands)));
+                        SpringActionSupport.notify(project, "cURL Generated", curlCommands.size() == 1
+                                        ? "cURL command copied to clipboard"
+                                        : curlCommands.size() + " cURL commands copied to clipboard",
+                                NotificationType.INFORMATION);
+                    } else {
+                        SpringActionSupport.notify(project, "No cURL Generated", "No Spring mapping annotation found",
+                                NotificationType.WARNING);
+                    }
+                });
     }
 
     @Override
     public void update(AnActionEvent e) {
-        e.getPresentation().setEnabled(true);
-        e.getPresentation().setVisible(true);
+        SpringActionSupport.updateForCaretMethod(e);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
     }
-}
\ No newline at end of file
+}
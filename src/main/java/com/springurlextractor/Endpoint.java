@@ -0,0 +1,159 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// One mapped controller method: HTTP verb, class + method path (without context path) and where it is declared
+public final class Endpoint {
+    static final DataExternalizer<List<Endpoint>> LIST_EXTERNALIZER = new DataExternalizer<>() {
+        @Override
+        public void save(@NotNull DataOutput out, List<Endpoint> endpoints) throws IOException {
+            DataInputOutputUtil.writeINT(out, endpoints.size());
+            for (Endpoint endpoint : endpoints) {
+                IOUtil.writeUTF(out, endpoint.httpMethod);
+                IOUtil.writeUTF(out, endpoint.path);
+                IOUtil.writeUTF(out, endpoint.className);
+                IOUtil.writeUTF(out, endpoint.methodName);
+                DataInputOutputUtil.writeINT(out, endpoint.offset);
+                out.writeBoolean(endpoint.anyMethod);
+                IOUtil.writeUTF(out, endpoint.conditions);
+                out.writeBoolean(endpoint.constantPath);
+            }
+        }
+
+        @Override
+        public List<Endpoint> read(@NotNull DataInput in) throws IOException {
+            int size = DataInputOutputUtil.readINT(in);
+            List<Endpoint> endpoints = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                endpoints.add(new Endpoint(IOUtil.readUTF(in), IOUtil.readUTF(in), IOUtil.readUTF(in),
+                        IOUtil.readUTF(in), DataInputOutputUtil.readINT(in), in.readBoolean(), IOUtil.readUTF(in),
+                        in.readBoolean(), null));
+            }
+            return endpoints;
+        }
+    };
+
+    private final String httpMethod;
+    private final String path;
+    private final String className;
+    private final String methodName;
+    private final int offset;
+    private final boolean anyMethod;
+    private final String conditions;
+    private final boolean constantPath;
+    private final VirtualFile file;
+
+    Endpoint(String httpMethod, String path, String className, String methodName, int offset, VirtualFile file) {
+        this(httpMethod, path, className, methodName, offset, false, "", false, file);
+    }
+
+    Endpoint(String httpMethod, String path, String className, String methodName, int offset, boolean anyMethod,
+             String conditions, boolean constantPath, VirtualFile file) {
+        this.httpMethod = httpMethod;
+        this.path = path;
+        this.className = className;
+        this.methodName = methodName;
+        this.offset = offset;
+        this.anyMethod = anyMethod;
+        this.conditions = conditions;
+        this.constantPath = constantPath;
+        this.file = file;
+    }
+
+    Endpoint withFile(VirtualFile file) {
+        return new Endpoint(httpMethod, path, className, methodName, offset, anyMethod, conditions, constantPath, file);
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    // Text offset of the method name in its file
+    int getOffset() {
+        return offset;
+    }
+
+    // @RequestMapping without a method attribute, which serves every verb; getHttpMethod() then gives GET
+    boolean isAnyMethod() {
+        return anyMethod;
+    }
+
+    // Source text of the produces, consumes, params and headers attributes, "" if none is set
+    String getConditions() {
+        return conditions;
+    }
+
+    // The path uses constants, which can't be evaluated while indexing; getPath() is then only the literal part
+    boolean hasConstantPath() {
+        return constantPath;
+    }
+
+    public VirtualFile getFile() {
+        return file;
+    }
+
+    // Short "Controller#method" label
+    public String getPresentableOwner() {
+        return className.substring(className.lastIndexOf('.') + 1) + "#" + methodName;
+    }
+
+    public PsiMethod findMethod(Project project) {
+        if (file == null || !file.isValid()) {
+            return null;
+        }
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (psiFile == null) {
+            return null;
+        }
+        return PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), PsiMethod.class, false);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Endpoint)) return false;
+        Endpoint that = (Endpoint) o;
+        return offset == that.offset && anyMethod == that.anyMethod && constantPath == that.constantPath &&
+                httpMethod.equals(that.httpMethod) && path.equals(that.path) && className.equals(that.className) &&
+                methodName.equals(that.methodName) && conditions.equals(that.conditions) &&
+                Objects.equals(file, that.file);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(httpMethod, path, className, methodName, offset, anyMethod, conditions, constantPath, file);
+    }
+
+    @Override
+    public String toString() {
+        return httpMethod + " " + path;
+    }
+}
@@ -0,0 +1,305 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.persistent.PersistentFS;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.PersistentHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+
+// On-disk copy of the endpoints of every file, keyed by VFS file id and validated by content hash.
+// It serves EndpointService while indexes are not ready, so endpoint features work right after a restart.
+@Service(Service.Level.PROJECT)
+public final class EndpointCache implements Disposable {
+    private static final Logger LOG = Logger.getInstance(EndpointCache.class);
+    private static final int VERSION = 3;
+
+    private static final DataExternalizer<CachedFile> EXTERNALIZER = new DataExternalizer<>() {
+        @Override
+        public void save(@NotNull DataOutput out, CachedFile cachedFile) throws IOException {
+            DataInputOutputUtil.writeTIME(out, cachedFile.timeStamp);
+            DataInputOutputUtil.writeLONG(out, cachedFile.length);
+            out.writeLong(cachedFile.contentHash);
+            Endpoint.LIST_EXTERNALIZER.save(out, cachedFile.endpoints);
+        }
+
+        @Override
+        public CachedFile read(@NotNull DataInput in) throws IOException {
+            return new CachedFile(DataInputOutputUtil.readTIME(in), DataInputOutputUtil.readLONG(in), in.readLong(),
+                    Endpoint.LIST_EXTERNALIZER.read(in));
+        }
+    };
+
+    private static final ExecutorService WRITER = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "Spring Endpoint Cache Writer", 1);
+
+    private final Project project;
+    private final Path storageFile;
+    // Guarded by itself; coalesces updates arriving while the writer is busy
+    private final Map<VirtualFile, List<Endpoint>> pendingFiles = new LinkedHashMap<>();
+    private boolean pendingComplete;
+    private boolean updateScheduled;
+    private PersistentHashMap<Integer, CachedFile> storage;
+    private boolean disposed;
+
+    public EndpointCache(Project project) {
+        this.project = project;
+        this.storageFile = PathManager.getSystemDir().resolve("spring-url-extractor")
+                .resolve(project.getLocationHash()).resolve("endpoints");
+    }
+
+    public static EndpointCache getInstance(Project project) {
+        return project.getService(EndpointCache.class);
+    }
+
+    // Endpoints of every cached project file. Files changed since they were cached are re-extracted from PSI,
+    // everything else is read straight from disk. Must be called in a read action.
+    List<Endpoint> getEndpoints() {
+        List<Endpoint> result = new ArrayList<>();
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        for (int fileId : getCachedFileIds()) {
+            ProgressManager.checkCanceled();
+            VirtualFile file = PersistentFS.getInstance().findFileById(fileId);
+            if (file == null || !file.isValid()) {
+                remove(fileId);
+                continue;
+            }
+            if (!fileIndex.isInSourceContent(file)) {
+                continue;
+            }
+
+            CachedFile cachedFile = read(fileId);
+            if (cachedFile == null) {
+                continue;
+            }
+            if (!cachedFile.isUpToDate(file)) {
+                CharSequence text = loadText(file);
+                long contentHash = contentHash(text);
+                List<Endpoint> endpoints = cachedFile.contentHash == contentHash
+                        ? cachedFile.endpoints
+                        : EndpointIndex.extractEndpoints(text, () -> PsiManager.getInstance(project).findFile(file));
+                cachedFile = new CachedFile(file.getTimeStamp(), file.getLength(), contentHash, endpoints);
+                write(fileId, cachedFile);
+            }
+            for (Endpoint endpoint : cachedFile.endpoints) {
+                result.add(endpoint.withFile(file));
+            }
+        }
+        return result;
+    }
+
+    // Brings the given files in line with endpoints freshly read from the index; an empty list drops a file.
+    // A complete map holds every file with endpoints, so all others are dropped as well. Runs in the background,
+    // and updates arriving while the writer is busy are merged into one.
+    void scheduleUpdate(Map<VirtualFile, List<Endpoint>> files, boolean complete) {
+        synchronized (pendingFiles) {
+            if (complete) {
+                pendingFiles.clear();
+                pendingComplete = true;
+            }
+            pendingFiles.putAll(files);
+            if (updateScheduled) {
+                return;
+            }
+            updateScheduled = true;
+        }
+        WRITER.execute(() -> {
+            Map<VirtualFile, List<Endpoint>> latest;
+            boolean latestComplete;
+            synchronized (pendingFiles) {
+                latest = new LinkedHashMap<>(pendingFiles);
+                latestComplete = pendingComplete;
+                pendingFiles.clear();
+                pendingComplete = false;
+                updateScheduled = false;
+            }
+            if (!project.isDisposed()) {
+                ReadAction.nonBlocking(() -> update(latest, latestComplete)).expireWith(this).executeSynchronously();
+            }
+        });
+    }
+
+    private void update(Map<VirtualFile, List<Endpoint>> files, boolean complete) {
+        Set<Integer> staleIds = complete ? new HashSet<>(getCachedFileIds()) : new HashSet<>();
+        for (Map.Entry<VirtualFile, List<Endpoint>> entry : files.entrySet()) {
+            ProgressManager.checkCanceled();
+            VirtualFile file = entry.getKey();
+            int fileId = FileBasedIndex.getFileId(file);
+            staleIds.remove(fileId);
+            if (!file.isValid() || entry.getValue().isEmpty()) {
+                // Deleted, or no longer declares any endpoint
+                remove(fileId);
+                continue;
+            }
+
+            List<Endpoint> endpoints = new ArrayList<>(entry.getValue().size());
+            for (Endpoint endpoint : entry.getValue()) {
+                endpoints.add(endpoint.withFile(null));
+            }
+            CachedFile cachedFile = read(fileId);
+            if (cachedFile != null && cachedFile.isUpToDate(file) && cachedFile.endpoints.equals(endpoints)) {
+                continue;
+            }
+            write(fileId, new CachedFile(file.getTimeStamp(), file.getLength(), contentHash(loadText(file)),
+                    endpoints));
+        }
+
+        for (int fileId : staleIds) {
+            remove(fileId);
+        }
+    }
+
+    private static CharSequence loadText(VirtualFile file) {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        return document != null ? document.getImmutableCharSequence() : LoadTextUtil.loadText(file);
+    }
+
+    // 64-bit FNV-1a over the characters
+    private static long contentHash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private synchronized List<Integer> getCachedFileIds() {
+        PersistentHashMap<Integer, CachedFile> map = getStorage();
+        List<Integer> fileIds = new ArrayList<>();
+        if (map != null) {
+            try {
+                map.processKeysWithExistingMapping(fileId -> {
+                    fileIds.add(fileId);
+                    return true;
+                });
+            } catch (IOException e) {
+                handleCorruption(e);
+            }
+        }
+        return fileIds;
+    }
+
+    private synchronized CachedFile read(int fileId) {
+        PersistentHashMap<Integer, CachedFile> map = getStorage();
+        if (map != null) {
+            try {
+                return map.get(fileId);
+            } catch (IOException e) {
+                handleCorruption(e);
+            }
+        }
+        return null;
+    }
+
+    private synchronized void write(int fileId, CachedFile cachedFile) {
+        PersistentHashMap<Integer, CachedFile> map = getStorage();
+        if (map != null) {
+            try {
+                map.put(fileId, cachedFile);
+            } catch (IOException e) {
+                handleCorruption(e);
+            }
+        }
+    }
+
+    private synchronized void remove(int fileId) {
+        PersistentHashMap<Integer, CachedFile> map = getStorage();
+        if (map != null) {
+            try {
+                map.remove(fileId);
+            } catch (IOException e) {
+                handleCorruption(e);
+            }
+        }
+    }
+
+    // Opened on first use; a storage that cannot be opened is wiped and recreated once
+    private PersistentHashMap<Integer, CachedFile> getStorage() {
+        if (storage == null && !disposed) {
+            try {
+                storage = createStorage();
+            } catch (IOException e) {
+                LOG.info("Recreating endpoint cache at " + storageFile, e);
+                IOUtil.deleteAllFilesStartingWith(storageFile);
+                try {
+                    storage = createStorage();
+                } catch (IOException again) {
+                    LOG.warn("Endpoint cache disabled", again);
+                    disposed = true;
+                }
+            }
+        }
+        return storage;
+    }
+
+    private PersistentHashMap<Integer, CachedFile> createStorage() throws IOException {
+        return new PersistentHashMap<>(storageFile, EnumeratorIntegerDescriptor.INSTANCE, EXTERNALIZER, 1024, VERSION);
+    }
+
+    private void handleCorruption(IOException e) {
+        LOG.info("Endpoint cache is corrupted, dropping it", e);
+        closeStorage();
+        IOUtil.deleteAllFilesStartingWith(storageFile);
+    }
+
+    private void closeStorage() {
+        if (storage != null) {
+            try {
+                storage.close();
+            } catch (IOException e) {
+                LOG.info(e);
+            }
+            storage = null;
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+        closeStorage();
+    }
+
+    private static class CachedFile {
+        final long timeStamp;
+        final long length;
+        final long contentHash;
+        final List<Endpoint> endpoints;
+
+        CachedFile(long timeStamp, long length, long contentHash, List<Endpoint> endpoints) {
+            this.timeStamp = timeStamp;
+            this.length = length;
+            this.contentHash = contentHash;
+            this.endpoints = endpoints;
+        }
+
+        // Cheap check before hashing: same stamp and size on disk and no unsaved edits in the editor
+        boolean isUpToDate(VirtualFile file) {
+            return timeStamp == file.getTimeStamp() && length == file.getLength() &&
+                    !FileDocumentManager.getInstance().isFileModified(file);
+        }
+    }
+}
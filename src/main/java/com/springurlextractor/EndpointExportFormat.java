@@ -0,0 +1,39 @@
+package com.springurlextractor;
+
+import java.io.IOException;
+import java.io.Writer;
+
+enum EndpointExportFormat {
+    HTTP_CLIENT("IntelliJ HTTP Client (.http)", "http", ".http"),
+    POSTMAN("Postman Collection v2.1 (.json)", "json", ".postman_collection.json"),
+    SHELL_SCRIPT("Shell Script (.sh)", "sh", ".sh"),
+    JSON("Endpoint List (.json)", "json", ".endpoints.json");
+
+    final String presentableName;
+    final String extension;
+    final String fileNameSuffix;
+
+    EndpointExportFormat(String presentableName, String extension, String fileNameSuffix) {
+        this.presentableName = presentableName;
+        this.extension = extension;
+        this.fileNameSuffix = fileNameSuffix;
+    }
+
+    EndpointExportWriter createWriter(Writer out, String collectionName) throws IOException {
+        switch (this) {
+            case POSTMAN:
+                return new EndpointExportWriter.Postman(out, collectionName);
+            case SHELL_SCRIPT:
+                return new EndpointExportWriter.ShellScript(out);
+            case JSON:
+                return new EndpointExportWriter.Json(out);
+            default:
+                return new EndpointExportWriter.HttpClient(out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return presentableName;
+    }
+}
@@ -0,0 +1,180 @@
+package com.springurlextractor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+// Writes requests one at a time as they are extracted; nothing but the current request is held in memory
+abstract class EndpointExportWriter implements Closeable {
+    protected final Writer out;
+
+    EndpointExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    abstract void write(EndpointRequest request) throws IOException;
+
+    // Closing text of the format, written once after the last request
+    protected void finish() throws IOException {
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    static final class HttpClient extends EndpointExportWriter {
+        HttpClient(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void write(EndpointRequest request) throws IOException {
+            out.write("### " + request.name + "\n");
+            out.write(request.httpMethod + " " + request.getUrl(name -> "{{" + name + "}}") + "\n");
+            if (request.contentType != null) {
+                out.write("Content-Type: " + request.contentType + "\n");
+            }
+            out.write("Accept: application/json\n");
+            if (request.body != null) {
+                out.write("\n" + request.body + "\n");
+            }
+            out.write("\n");
+        }
+    }
+
+    static final class Postman extends EndpointExportWriter {
+        private static final String SCHEMA = "https://schema.getpostman.com/json/collection/v2.1.0/collection.json";
+
+        private boolean first = true;
+
+        Postman(Writer out, String collectionName) throws IOException {
+            super(out);
+            out.write("{\n  \"info\": {\n    \"name\": " + jsonString(collectionName) +
+                    ",\n    \"schema\": " + jsonString(SCHEMA) + "\n  },\n  \"item\": [");
+        }
+
+        @Override
+        void write(EndpointRequest request) throws IOException {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+
+            out.write("    {\n      \"name\": " + jsonString(request.name) + ",\n      \"request\": {\n");
+            out.write("        \"method\": " + jsonString(request.httpMethod) + ",\n");
+            out.write("        \"header\": [");
+            if (request.contentType != null) {
+                out.write(header("Content-Type", request.contentType) + ", ");
+            }
+            out.write(header("Accept", "application/json") + "],\n");
+            if (request.body != null) {
+                out.write("        \"body\": {\"mode\": \"raw\", \"raw\": " + jsonString(request.body) +
+                        ", \"options\": {\"raw\": {\"language\": \"json\"}}},\n");
+            }
+            out.write("        \"url\": {\"raw\": " + jsonString(request.getUrl(name -> "{{" + name + "}}")) + "}\n");
+            out.write("      }\n    }");
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            out.write(first ? "]\n}\n" : "\n  ]\n}\n");
+        }
+
+        private static String header(String key, String value) {
+            return "{\"key\": " + jsonString(key) + ", \"value\": " + jsonString(value) + "}";
+        }
+    }
+
+    // A JSON array with one object per endpoint, for scripts and CI
+    static final class Json extends EndpointExportWriter {
+        private boolean first = true;
+
+        Json(Writer out) throws IOException {
+            super(out);
+            out.write("[");
+        }
+
+        @Override
+        void write(EndpointRequest request) throws IOException {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+
+            out.write("  {\"name\": " + jsonString(request.name) + ", \"method\": " + jsonString(request.httpMethod) +
+                    ", \"url\": " + jsonString(request.url));
+            out.write(", \"pathVariables\": [");
+            for (int i = 0; i < request.pathVariables.size(); i++) {
+                EndpointRequest.PathVariable pathVar = request.pathVariables.get(i);
+                out.write((i > 0 ? ", " : "") + "{\"name\": " + jsonString(pathVar.name) +
+                        ", \"type\": " + jsonString(pathVar.type) + "}");
+            }
+            out.write("], \"requestParams\": [");
+            for (int i = 0; i < request.requestParams.size(); i++) {
+                EndpointRequest.RequestParam param = request.requestParams.get(i);
+                out.write((i > 0 ? ", " : "") + "{\"name\": " + jsonString(param.name) +
+                        ", \"type\": " + jsonString(param.type) + ", \"required\": " + param.required +
+                        (param.defaultValue != null ? ", \"defaultValue\": " + jsonString(param.defaultValue) : "") +
+                        "}");
+            }
+            out.write("]");
+            if (request.contentType != null) {
+                out.write(", \"contentType\": " + jsonString(request.contentType));
+            }
+            if (request.body != null) {
+                out.write(", \"body\": " + jsonString(request.body));
+            }
+            out.write("}");
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            out.write(first ? "]\n" : "\n]\n");
+        }
+    }
+
+    static final class ShellScript extends EndpointExportWriter {
+        ShellScript(Writer out) throws IOException {
+            super(out);
+            out.write("#!/usr/bin/env bash\n# Set the variables listed under each command before running it\n\n");
+        }
+
+        @Override
+        void write(EndpointRequest request) throws IOException {
+            out.write("# " + request.name + "\n");
+            out.write(CurlGenerator.formatCurl(request) + "\n\n");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.springurlextractor;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+// Maps every combined class + method path declared in a Java file to the endpoints serving it
+public final class EndpointIndex extends FileBasedIndexExtension<String, List<Endpoint>> {
+    public static final ID<String, List<Endpoint>> NAME = ID.create("com.springurlextractor.EndpointIndex");
+
+    @Override
+    public @NotNull ID<String, List<Endpoint>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<Endpoint>, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, List<Endpoint>> endpoints = new HashMap<>();
+            for (Endpoint endpoint : extractEndpoints(inputData.getContentAsText(), inputData::getPsiFile)) {
+                endpoints.computeIfAbsent(endpoint.getPath(), key -> new ArrayList<>()).add(endpoint);
+            }
+            return endpoints;
+        };
+    }
+
+    // Endpoints declared in one Java file; needs no resolve, so it also works while indexes are not ready
+    static List<Endpoint> extractEndpoints(CharSequence text, Supplier<PsiFile> psiFile) {
+        // Skip parsing files that cannot contain any mapping annotation
+        if (!StringUtil.contains(text, "Mapping")) {
+            return Collections.emptyList();
+        }
+
+        PsiFile file = psiFile.get();
+        if (!(file instanceof PsiJavaFile)) {
+            return Collections.emptyList();
+        }
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (PsiClass psiClass : ((PsiJavaFile) file).getClasses()) {
+            collectEndpoints(psiClass, endpoints);
+        }
+        return endpoints;
+    }
+
+    private static void collectEndpoints(PsiClass psiClass, List<Endpoint> endpoints) {
+        String className = psiClass.getQualifiedName();
+        if (className != null) {
+            for (PsiMethod method : psiClass.getMethods()) {
+                endpoints.addAll(createEndpoints(method, psiClass, className, false));
+            }
+        }
+
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            collectEndpoints(innerClass, endpoints);
+        }
+    }
+
+    // One endpoint per class path and method path combination; empty when the method has no mapping annotation.
+    // Without evaluateConstants, constants in paths are left out and the endpoints are marked, see hasConstantPath.
+    static List<Endpoint> createEndpoints(PsiMethod method, PsiClass psiClass, String className,
+                                          boolean evaluateConstants) {
+        PsiAnnotation annotation = SpringUrlExtractor.findMappingAnnotation(method);
+        if (annotation == null) {
+            return Collections.emptyList();
+        }
+        List<String> methodPaths = SpringUrlExtractor.extractPathsFromAnnotation(annotation, evaluateConstants);
+        List<String> controllerPaths = SpringUrlExtractor.computeControllerBasePaths(psiClass, evaluateConstants);
+        PsiAnnotation classAnnotation = SpringUrlExtractor.findControllerMappingAnnotation(psiClass);
+        boolean constantPath = !evaluateConstants && (SpringUrlExtractor.hasConstantPath(annotation) ||
+                classAnnotation != null && SpringUrlExtractor.hasConstantPath(classAnnotation));
+
+        String httpMethod = CurlGenerator.getHttpMethod(method);
+        boolean anyMethod = "RequestMapping".equals(SpringUrlExtractor.getAnnotationShortName(annotation)) &&
+                annotation.findDeclaredAttributeValue("method") == null;
+        // Spring narrows class conditions by method ones, so both take part
+        String conditions = SpringUrlExtractor.getMappingConditions(annotation);
+        if (classAnnotation != null && !SpringUrlExtractor.getMappingConditions(classAnnotation).isEmpty()) {
+            conditions = SpringUrlExtractor.getMappingConditions(classAnnotation) + "|" + conditions;
+        }
+
+        Set<String> paths = new LinkedHashSet<>();
+        for (String controllerPath : controllerPaths) {
+            for (String methodPath : methodPaths) {
+                paths.add(SpringUrlExtractor.buildFullPath(null, controllerPath, methodPath));
+            }
+        }
+        List<Endpoint> endpoints = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            endpoints.add(new Endpoint(httpMethod, path, className, method.getName(), method.getTextOffset(), anyMethod,
+                    conditions, constantPath, null));
+        }
+        return endpoints;
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<Endpoint>> getValueExternalizer() {
+        return Endpoint.LIST_EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package com.springurlextractor;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Format-independent description of one request to an endpoint, shared by the cURL, .http, Postman and shell output
+final class EndpointRequest {
+    final String name;
+    final String httpMethod;
+    final String url;
+    final List<PathVariable> pathVariables;
+    final List<RequestParam> requestParams;
+    final String contentType;
+    final String body;
+
+    EndpointRequest(String name, String httpMethod, String url, List<PathVariable> pathVariables,
+                    List<RequestParam> requestParams, String contentType, String body) {
+        this.name = name;
+        this.httpMethod = httpMethod;
+        this.url = url;
+        this.pathVariables = pathVariables;
+        this.requestParams = requestParams;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    // URL with every path variable and request parameter rendered as a placeholder by the given format
+    String getUrl(Function<String, String> placeholder) {
+        String result = url;
+        for (PathVariable pathVar : pathVariables) {
+            result = result.replace("{" + pathVar.name + "}", placeholder.apply(pathVar.name));
+        }
+
+        if (!requestParams.isEmpty()) {
+            StringBuilder query = new StringBuilder();
+            for (RequestParam param : requestParams) {
+                query.append(query.length() == 0 ? (result.contains("?") ? "&" : "?") : "&")
+                        .append(param.name).append("=").append(placeholder.apply(param.name));
+            }
+            result += query;
+        }
+        return result;
+    }
+
+    static class PathVariable {
+        final String name;
+        final String type;
+
+        PathVariable(String name, String type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    static class RequestParam {
+        final String name;
+        final String type;
+        final boolean required;
+        final String defaultValue;
+
+        RequestParam(String name, String type, boolean required, String defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.required = required;
+            this.defaultValue = defaultValue;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.springurlextractor;
+
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiMethod;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.util.Locale;
+import java.util.Set;
+
+// "Endpoints" tab of Search Everywhere: type "/orders/{id}/items" or "GET /orders" to find controller methods
+public final class EndpointSearchContributor implements SearchEverywhereContributor<Endpoint> {
+    private static final Set<String> HTTP_METHODS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    private final Project project;
+
+    public EndpointSearchContributor(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @NotNull String getSearchProviderId() {
+        return EndpointSearchContributor.class.getName();
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return "Endpoints";
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 500;
+    }
+
+    @Override
+    public boolean showInFindResults() {
+        return false;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    public void fetchElements(@NotNull String pattern, @NotNull ProgressIndicator progressIndicator,
+                              @NotNull Processor<? super Endpoint> consumer) {
+        String query = pattern.trim();
+        if (query.isEmpty()) {
+            return;
+        }
+
+        // Optional leading HTTP verb filter
+        String httpMethod = null;
+        int space = query.indexOf(' ');
+        String firstWord = (space == -1 ? query : query.substring(0, space)).toUpperCase(Locale.ROOT);
+        if (HTTP_METHODS.contains(firstWord)) {
+            httpMethod = firstWord;
+            query = space == -1 ? "" : query.substring(space + 1).trim();
+        }
+
+        String path = stripQueryString(query);
+        // The trie is built in a read action that gives way to writes; once built it never changes, so it is walked
+        // outside of it and each match goes to the list as soon as it is found, until the list wants no more
+        EndpointSegmentTrie trie = ReadAction.nonBlocking(() -> EndpointService.getInstance(project).getSegmentTrie())
+                .wrapProgress(progressIndicator)
+                .executeSynchronously();
+        trie.search(path, httpMethod, endpoint -> {
+            progressIndicator.checkCanceled();
+            return consumer.process(endpoint);
+        });
+    }
+
+    private static String stripQueryString(String query) {
+        int index = query.indexOf('?');
+        return index != -1 ? query.substring(0, index) : query;
+    }
+
+    @Override
+    public boolean processSelectedItem(@NotNull Endpoint selected, int modifiers, @NotNull String searchText) {
+        PsiMethod method = selected.findMethod(project);
+        if (method != null) {
+            method.navigate(true);
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super Endpoint> getElementsRenderer() {
+        return SimpleListCellRenderer.create((label, endpoint, index) ->
+                label.setText(endpoint.getHttpMethod() + " " + endpoint.getPath() + "    " +
+                        endpoint.getPresentableOwner()));
+    }
+
+    public static final class Factory implements SearchEverywhereContributorFactory<Endpoint> {
+        @Override
+        public @NotNull SearchEverywhereContributor<Endpoint> createContributor(@NotNull AnActionEvent initEvent) {
+            return new EndpointSearchContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.util.Processor;
+
+import java.util.*;
+
+// Prefix trie over path segments, so a typed URL fragment only visits the matching branches
+final class EndpointSegmentTrie {
+    private final Node root = new Node();
+
+    EndpointSegmentTrie(Collection<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            Node node = root;
+            for (String segment : splitPath(endpoint.getPath())) {
+                node = isVariableSegment(segment) ? node.getOrCreateVariableChild() : node.getOrCreateLiteralChild(segment);
+            }
+            node.endpoints.add(endpoint);
+        }
+    }
+
+    // Feeds every endpoint under the typed path to the consumer; the last typed segment may be incomplete.
+    // A null httpMethod matches every verb.
+    void search(String path, String httpMethod, Processor<? super Endpoint> consumer) {
+        List<String> segments = splitPath(path);
+        boolean completeLastSegment = path.endsWith("/");
+
+        List<Node> current = Collections.singletonList(root);
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            boolean prefixMatch = i == segments.size() - 1 && !completeLastSegment;
+            List<Node> next = new ArrayList<>();
+            for (Node node : current) {
+                node.collectMatchingChildren(segment, prefixMatch, next);
+            }
+            if (next.isEmpty()) {
+                return;
+            }
+            current = next;
+        }
+
+        Set<Endpoint> seen = new HashSet<>();
+        for (Node node : current) {
+            if (!node.process(httpMethod, seen, consumer)) {
+                return;
+            }
+        }
+    }
+
+    static List<String> splitPath(String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    static boolean isVariableSegment(String segment) {
+        return segment.indexOf('{') != -1 || segment.indexOf('*') != -1;
+    }
+
+    private static class Node {
+        final NavigableMap<String, Node> literalChildren = new TreeMap<>();
+        Node variableChild;
+        final List<Endpoint> endpoints = new ArrayList<>(1);
+
+        Node getOrCreateLiteralChild(String segment) {
+            return literalChildren.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node getOrCreateVariableChild() {
+            if (variableChild == null) {
+                variableChild = new Node();
+            }
+            return variableChild;
+        }
+
+        // Literal segments match by name (or name prefix); typed "{var}" matches variable segments only,
+        // while a concrete value such as "123" also matches a variable segment
+        void collectMatchingChildren(String segment, boolean prefixMatch, List<Node> result) {
+            if (isVariableSegment(segment)) {
+                if (variableChild != null) {
+                    result.add(variableChild);
+                }
+                return;
+            }
+
+            if (prefixMatch) {
+                result.addAll(literalChildren.subMap(segment, true, segment + Character.MAX_VALUE, false).values());
+            } else {
+                Node child = literalChildren.get(segment);
+                if (child != null) {
+                    result.add(child);
+                }
+            }
+            if (variableChild != null) {
+                result.add(variableChild);
+            }
+        }
+
+        boolean process(String httpMethod, Set<Endpoint> seen, Processor<? super Endpoint> consumer) {
+            ProgressManager.checkCanceled();
+            for (Endpoint endpoint : endpoints) {
+                if ((httpMethod == null || httpMethod.equals(endpoint.getHttpMethod())) && seen.add(endpoint) &&
+                        !consumer.process(endpoint)) {
+                    return false;
+                }
+            }
+            for (Node child : literalChildren.values()) {
+                if (!child.process(httpMethod, seen, consumer)) {
+                    return false;
+                }
+            }
+            return variableChild == null || variableChild.process(httpMethod, seen, consumer);
+        }
+    }
+}
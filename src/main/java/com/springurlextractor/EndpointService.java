@@ -0,0 +1,460 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.messages.Topic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+// Project-wide endpoint queries backed by EndpointIndex. The endpoints of every file are kept, and only files
+// changed since are read again from the index; the list and the structures built on it are rebuilt only when
+// some file's endpoints actually differ, so edits elsewhere cost nothing. Full index scans only run in the
+// background and are swapped in when done, so queries never wait for one.
+@Service(Service.Level.PROJECT)
+public final class EndpointService implements Disposable {
+    // Beyond this many changed files, e.g. after a branch switch, one pass over the index is cheaper
+    private static final int RESCAN_THRESHOLD = 500;
+    static final Topic<Listener> ENDPOINTS_CHANGED = new Topic<>("Spring endpoints changed", Listener.class);
+
+    private final Project project;
+    private final SimpleModificationTracker endpointsTracker = new SimpleModificationTracker();
+    private final CachedValue<List<Endpoint>> endpoints;
+    private final CachedValue<EndpointSegmentTrie> segmentTrie;
+    private final CachedValue<PathPatternMatcher> patternMatcher;
+    private final CachedValue<MappingConflictDetector> conflictDetector;
+
+    // Guarded by this. Dirty files map to the change count when they were last marked, so a read started before a
+    // newer change does not clear it.
+    private Map<VirtualFile, List<Endpoint>> endpointsByFile;
+    private final Map<VirtualFile, Long> dirtyFiles = new LinkedHashMap<>();
+    private long changeCount;
+    private boolean rescanRequested = true;
+    private long rescanRequestedAt;
+    // Files marked while a scan runs, which it may have read before the change
+    private final Set<VirtualFile> markedDuringScan = new HashSet<>();
+    private int runningScans;
+    // Changes applied but not yet handed to EndpointCache and listeners
+    private final Map<VirtualFile, List<Endpoint>> unpublishedFiles = new LinkedHashMap<>();
+    private boolean unpublishedRescan;
+    private boolean publishScheduled;
+    // Files whose index entries use constants, which may be declared in any other file
+    private Set<VirtualFile> constantPathFiles = new HashSet<>();
+
+    public EndpointService(Project project) {
+        this.project = project;
+        CachedValuesManager manager = CachedValuesManager.getManager(project);
+        this.endpoints = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(collectEndpoints(), getDependencies()), false);
+        this.segmentTrie = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(new EndpointSegmentTrie(endpoints.getValue()),
+                        getDependencies()), false);
+        this.patternMatcher = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(new PathPatternMatcher(endpoints.getValue()),
+                        getDependencies()), false);
+        this.conflictDetector = manager.createCachedValue(
+                () -> CachedValueProvider.Result.create(new MappingConflictDetector(endpoints.getValue()),
+                        getDependencies()), false);
+
+        // Unsaved edits reach the index through PSI, saved and external ones through VFS
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+        }, this);
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void before(@NotNull List<? extends VFileEvent> events) {
+                // A deleted directory can only be located while it still exists
+                for (VFileEvent event : events) {
+                    if (event instanceof VFileDeleteEvent && isContentDirectory(event.getFile())) {
+                        requestRescan();
+                    }
+                }
+            }
+
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    VirtualFile file = event.getFile();
+                    if (file == null || !file.isValid()) {
+                        continue;
+                    }
+                    if (file.isDirectory()) {
+                        if (isContentDirectory(file)) {
+                            requestRescan();
+                        }
+                    } else if ("java".equals(file.getExtension()) || event instanceof VFilePropertyChangeEvent) {
+                        markDirty(file);
+                    }
+                }
+            }
+        });
+        project.getMessageBus().connect(this).subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                requestRescan();
+            }
+        });
+        project.getMessageBus().connect(this).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+            @Override
+            public void exitDumbMode() {
+                requestRescan();
+            }
+        });
+    }
+
+    public static EndpointService getInstance(Project project) {
+        return project.getService(EndpointService.class);
+    }
+
+    // Every endpoint in project sources; served from EndpointCache while indexes are not ready or not yet scanned
+    public List<Endpoint> getEndpoints() {
+        refreshDirtyFiles();
+        return endpoints.getValue();
+    }
+
+    // Segment trie over getEndpoints(), for fragment searches
+    EndpointSegmentTrie getSegmentTrie() {
+        refreshDirtyFiles();
+        return segmentTrie.getValue();
+    }
+
+    // Decision tree over getEndpoints(), for matching concrete request paths
+    PathPatternMatcher getPatternMatcher() {
+        refreshDirtyFiles();
+        return patternMatcher.getValue();
+    }
+
+    // Duplicate and ambiguous mapping lookups over getEndpoints()
+    MappingConflictDetector getConflictDetector() {
+        refreshDirtyFiles();
+        return conflictDetector.getValue();
+    }
+
+    // The cache re-extracts changed files from PSI in dumb mode, so it has to be asked again on every PSI change
+    private Object[] getDependencies() {
+        Object dumbTracker = DumbService.getInstance(project).getModificationTracker();
+        return DumbService.isDumb(project)
+                ? new Object[]{PsiModificationTracker.MODIFICATION_COUNT, dumbTracker}
+                : new Object[]{endpointsTracker, dumbTracker};
+    }
+
+    private List<Endpoint> collectEndpoints() {
+        if (!DumbService.isDumb(project)) {
+            synchronized (this) {
+                if (endpointsByFile != null) {
+                    List<Endpoint> result = new ArrayList<>();
+                    endpointsByFile.values().forEach(result::addAll);
+                    return Collections.unmodifiableList(result);
+                }
+            }
+        }
+        return Collections.unmodifiableList(EndpointCache.getInstance(project).getEndpoints());
+    }
+
+    private boolean isContentDirectory(VirtualFile file) {
+        return file != null && file.isValid() && file.isDirectory() &&
+                ProjectFileIndex.getInstance(project).isInContent(file);
+    }
+
+    private void psiChanged(PsiTreeChangeEvent event) {
+        PsiFile file = event.getFile();
+        if (file == null && event.getChild() instanceof PsiFile) {
+            // A file added to or removed from a directory
+            file = (PsiFile) event.getChild();
+        }
+        VirtualFile virtualFile = file instanceof PsiJavaFile && file.isPhysical() ? file.getVirtualFile() : null;
+        if (virtualFile != null) {
+            List<VirtualFile> constantPathFiles;
+            synchronized (this) {
+                constantPathFiles = new ArrayList<>(this.constantPathFiles);
+            }
+            constantPathFiles.forEach(this::markDirty);
+            markDirty(virtualFile);
+        }
+    }
+
+    private void markDirty(VirtualFile file) {
+        synchronized (this) {
+            dirtyFiles.put(file, ++changeCount);
+            if (runningScans > 0) {
+                markedDuringScan.add(file);
+            }
+        }
+        scheduleRefresh();
+    }
+
+    private void requestRescan() {
+        synchronized (this) {
+            rescanRequested = true;
+            rescanRequestedAt = ++changeCount;
+        }
+        scheduleRefresh();
+    }
+
+    // Picks changes up in the background too, so listeners and EndpointCache hear about them without a query
+    private void scheduleRefresh() {
+        ReadAction.nonBlocking(this::refresh)
+                .inSmartMode(project)
+                .coalesceBy(this)
+                .expireWith(this)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    // Rescans the index when asked to, then reads the dirty files. Runs in the background only; a scan happens
+    // outside the lock, and its result is dropped if another rescan was requested meanwhile.
+    private void refresh() {
+        if (DumbService.isDumb(project)) {
+            return;
+        }
+        long scanStartedAt;
+        synchronized (this) {
+            if (dirtyFiles.size() > RESCAN_THRESHOLD) {
+                rescanRequested = true;
+                rescanRequestedAt = changeCount;
+            }
+            scanStartedAt = rescanRequested || endpointsByFile == null ? changeCount : -1;
+            if (scanStartedAt != -1) {
+                runningScans++;
+            }
+        }
+
+        if (scanStartedAt != -1) {
+            Map<VirtualFile, List<Endpoint>> scanned;
+            Set<VirtualFile> scannedConstantPathFiles = new HashSet<>();
+            try {
+                scanned = scanIndex(scannedConstantPathFiles);
+            } finally {
+                synchronized (this) {
+                    runningScans--;
+                }
+            }
+            synchronized (this) {
+                if (rescanRequestedAt <= scanStartedAt) {
+                    rescanRequested = false;
+                    dirtyFiles.values().removeIf(markedAt -> markedAt <= scanStartedAt);
+                    for (VirtualFile file : markedDuringScan) {
+                        dirtyFiles.putIfAbsent(file, changeCount);
+                    }
+                    constantPathFiles = scannedConstantPathFiles;
+                    if (!scanned.equals(endpointsByFile)) {
+                        endpointsByFile = scanned;
+                        endpointsTracker.incModificationCount();
+                        unpublishedFiles.clear();
+                        unpublishedFiles.putAll(scanned);
+                        unpublishedRescan = true;
+                        schedulePublish();
+                    }
+                }
+                if (runningScans == 0) {
+                    markedDuringScan.clear();
+                }
+            }
+        }
+        refreshDirtyFiles();
+    }
+
+    // Reads the files changed since they were last read from the index. Cheap, so queries call it too, so that
+    // e.g. the inspection sees the file being edited as it is. Must be called in a read action.
+    private void refreshDirtyFiles() {
+        Map<VirtualFile, Long> dirty;
+        synchronized (this) {
+            if (endpointsByFile == null || dirtyFiles.isEmpty() || DumbService.isDumb(project)) {
+                return;
+            }
+            dirty = new LinkedHashMap<>(dirtyFiles);
+        }
+        for (Map.Entry<VirtualFile, Long> entry : dirty.entrySet()) {
+            VirtualFile file = entry.getKey();
+            List<Endpoint> indexed = readFile(file);
+            boolean constantPath = hasConstantPath(indexed);
+            List<Endpoint> fileEndpoints = constantPath ? resolveConstantPaths(file, indexed) : indexed;
+            synchronized (this) {
+                // Skipped if the file changed again since, or another caller already read it
+                if (!entry.getValue().equals(dirtyFiles.get(file))) {
+                    continue;
+                }
+                dirtyFiles.remove(file);
+                if (constantPath) {
+                    constantPathFiles.add(file);
+                } else {
+                    constantPathFiles.remove(file);
+                }
+                if (!fileEndpoints.equals(endpointsByFile.getOrDefault(file, Collections.emptyList()))) {
+                    if (fileEndpoints.isEmpty()) {
+                        endpointsByFile.remove(file);
+                    } else {
+                        endpointsByFile.put(file, fileEndpoints);
+                    }
+                    endpointsTracker.incModificationCount();
+                    unpublishedFiles.put(file, fileEndpoints);
+                    schedulePublish();
+                }
+            }
+        }
+    }
+
+    // Hands changes to EndpointCache and listeners later on the UI thread, never from inside a caller's read action
+    private void schedulePublish() {
+        if (!publishScheduled) {
+            publishScheduled = true;
+            ApplicationManager.getApplication().invokeLater(this::publish, project.getDisposed());
+        }
+    }
+
+    private void publish() {
+        Map<VirtualFile, List<Endpoint>> changed;
+        boolean rescanned;
+        synchronized (this) {
+            publishScheduled = false;
+            if (unpublishedFiles.isEmpty() && !unpublishedRescan) {
+                return;
+            }
+            changed = new LinkedHashMap<>(unpublishedFiles);
+            rescanned = unpublishedRescan;
+            unpublishedFiles.clear();
+            unpublishedRescan = false;
+        }
+        EndpointCache.getInstance(project).scheduleUpdate(changed, rescanned);
+        project.getMessageBus().syncPublisher(ENDPOINTS_CHANGED).endpointsChanged(rescanned ? null : changed.keySet());
+    }
+
+    private Map<VirtualFile, List<Endpoint>> scanIndex(Set<VirtualFile> constantPathFiles) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        List<String> paths = new ArrayList<>();
+        index.processAllKeys(EndpointIndex.NAME, path -> {
+            paths.add(path);
+            return true;
+        }, scope, null);
+
+        Map<VirtualFile, List<Endpoint>> result = new LinkedHashMap<>();
+        for (String path : paths) {
+            ProgressManager.checkCanceled();
+            index.processValues(EndpointIndex.NAME, path, null, (file, fileEndpoints) -> {
+                List<Endpoint> target = result.computeIfAbsent(file, key -> new ArrayList<>());
+                for (Endpoint endpoint : fileEndpoints) {
+                    target.add(endpoint.withFile(file));
+                }
+                return true;
+            }, scope);
+        }
+        // In declaration order, as readFile gives them, so a later re-read of an unchanged file compares equal
+        for (Map.Entry<VirtualFile, List<Endpoint>> entry : result.entrySet()) {
+            entry.getValue().sort(Comparator.comparingInt(Endpoint::getOffset).thenComparing(Endpoint::getPath));
+            if (hasConstantPath(entry.getValue())) {
+                constantPathFiles.add(entry.getKey());
+                entry.setValue(resolveConstantPaths(entry.getKey(), entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private List<Endpoint> readFile(VirtualFile file) {
+        ProgressManager.checkCanceled();
+        if (!file.isValid() || !GlobalSearchScope.projectScope(project).contains(file)) {
+            return Collections.emptyList();
+        }
+        List<Endpoint> result = new ArrayList<>();
+        for (List<Endpoint> pathEndpoints : FileBasedIndex.getInstance()
+                .getFileData(EndpointIndex.NAME, file, project).values()) {
+            for (Endpoint endpoint : pathEndpoints) {
+                result.add(endpoint.withFile(file));
+            }
+        }
+        result.sort(Comparator.comparingInt(Endpoint::getOffset).thenComparing(Endpoint::getPath));
+        return result;
+    }
+
+    private static boolean hasConstantPath(List<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.hasConstantPath()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The index can't evaluate constants such as ApiPaths.ORDERS, so those methods are read again from PSI
+    private List<Endpoint> resolveConstantPaths(VirtualFile file, List<Endpoint> endpoints) {
+        List<Endpoint> result = new ArrayList<>(endpoints.size());
+        Set<Integer> resolvedOffsets = new HashSet<>();
+        for (Endpoint endpoint : endpoints) {
+            if (!endpoint.hasConstantPath()) {
+                result.add(endpoint);
+                continue;
+            }
+            if (!resolvedOffsets.add(endpoint.getOffset())) {
+                // Another path of a method already resolved
+                continue;
+            }
+            ProgressManager.checkCanceled();
+            PsiMethod method = endpoint.findMethod(project);
+            PsiClass psiClass = method != null ? method.getContainingClass() : null;
+            if (psiClass == null) {
+                result.add(endpoint);
+                continue;
+            }
+            for (Endpoint resolved : EndpointIndex.createEndpoints(method, psiClass, endpoint.getClassName(), true)) {
+                result.add(resolved.withFile(file));
+            }
+        }
+        result.sort(Comparator.comparingInt(Endpoint::getOffset).thenComparing(Endpoint::getPath));
+        return result;
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    interface Listener {
+        // The files whose endpoints changed, or null when any file's may have
+        void endpointsChanged(@Nullable Collection<VirtualFile> files);
+    }
+}
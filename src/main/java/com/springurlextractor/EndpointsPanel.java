@@ -0,0 +1,432 @@
+package com.springurlextractor;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.*;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbAwareAction;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.TableSpeedSearch;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.MouseEvent;
+import java.util.*;
+import java.util.List;
+
+// Table of every endpoint in the project. Only the rows of files whose endpoints changed are rebuilt, and rows are
+// matched by handler and mapping, so an edited row is updated in place and keeps its position and selection.
+final class EndpointsPanel extends SimpleToolWindowPanel implements Disposable {
+    private static final String ALL_METHODS = "All methods";
+    private static final String ALL_MODULES = "All modules";
+    private static final List<String> HTTP_METHODS = List.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    private final Project project;
+    private final EndpointTableModel model = new EndpointTableModel();
+    private final JBTable table = new JBTable(model);
+    private final TableRowSorter<EndpointTableModel> sorter = new TableRowSorter<>(model);
+    private final ComboBox<String> methodFilter = new ComboBox<>();
+    private final ComboBox<String> moduleFilter = new ComboBox<>();
+
+    // Guarded by itself. Files waiting to be reloaded with the event count when they were last changed;
+    // a reload covers the entries up to the count it started at, later ones wait for the next one.
+    private final Map<VirtualFile, Long> pendingFiles = new HashMap<>();
+    private long pendingAllSince = 1;
+    private long eventCount = 1;
+
+    EndpointsPanel(Project project) {
+        super(true, true);
+        this.project = project;
+
+        table.setRowSorter(sorter);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getColumnModel().getColumn(EndpointTableModel.METHOD_COLUMN).setMaxWidth(80);
+        TableSpeedSearch.installOn(table);
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                navigateToSelected();
+                return true;
+            }
+        }.installOn(table);
+
+        methodFilter.addItem(ALL_METHODS);
+        HTTP_METHODS.forEach(methodFilter::addItem);
+        moduleFilter.addItem(ALL_MODULES);
+        methodFilter.addActionListener(e -> updateFilter());
+        moduleFilter.addActionListener(e -> updateFilter());
+
+        DefaultActionGroup actions = new DefaultActionGroup(new RefreshAction(), new CopyCurlAction(),
+                new CopyUrlAction());
+        ActionToolbar toolbar = ActionManager.getInstance().createActionToolbar("SpringEndpoints", actions, true);
+        toolbar.setTargetComponent(table);
+
+        JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        header.add(toolbar.getComponent());
+        header.add(methodFilter);
+        header.add(moduleFilter);
+        setToolbar(header);
+        setContent(ScrollPaneFactory.createScrollPane(table));
+
+        // Indexing replaces the cached endpoints shown in dumb mode with the indexed ones
+        project.getMessageBus().connect(this).subscribe(EndpointService.ENDPOINTS_CHANGED, this::endpointsChanged);
+        project.getMessageBus().connect(this).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+            @Override
+            public void exitDumbMode() {
+                endpointsChanged(null);
+            }
+        });
+        scheduleRefresh();
+    }
+
+    private void endpointsChanged(Collection<VirtualFile> files) {
+        synchronized (pendingFiles) {
+            eventCount++;
+            if (files == null) {
+                pendingAllSince = eventCount;
+            } else {
+                for (VirtualFile file : files) {
+                    pendingFiles.put(file, eventCount);
+                }
+            }
+        }
+        scheduleRefresh();
+    }
+
+    // Builds the changed rows in the background; a newer request cancels an older one still running
+    private void scheduleRefresh() {
+        ReadAction.nonBlocking(this::loadRows)
+                .coalesceBy(this)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.any(), this::applyRows)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    private RowUpdate loadRows() {
+        long since;
+        Set<VirtualFile> files;
+        synchronized (pendingFiles) {
+            since = eventCount;
+            files = pendingAllSince != 0 ? null : new HashSet<>(pendingFiles.keySet());
+        }
+        if (files != null && files.isEmpty()) {
+            return null;
+        }
+
+        SpringUrlExtractor urlExtractor = new SpringUrlExtractor(project);
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        List<Row> rows = new ArrayList<>();
+        for (Endpoint endpoint : EndpointService.getInstance(project).getEndpoints()) {
+            if (files != null && !files.contains(endpoint.getFile())) {
+                continue;
+            }
+            Module module = endpoint.getFile() != null ? fileIndex.getModuleForFile(endpoint.getFile()) : null;
+            rows.add(new Row(endpoint, urlExtractor.extractUrl(endpoint), module != null ? module.getName() : ""));
+        }
+        return new RowUpdate(since, files, rows);
+    }
+
+    private void applyRows(RowUpdate update) {
+        if (update == null) {
+            return;
+        }
+        synchronized (pendingFiles) {
+            pendingFiles.values().removeIf(changedAt -> changedAt <= update.since);
+            if (pendingAllSince <= update.since) {
+                pendingAllSince = 0;
+            }
+        }
+        model.update(update.files, update.rows);
+
+        Set<String> modules = new TreeSet<>();
+        for (int i = 0; i < model.getRowCount(); i++) {
+            if (!model.getRow(i).module.isEmpty()) {
+                modules.add(model.getRow(i).module);
+            }
+        }
+        Object selectedModule = moduleFilter.getSelectedItem();
+        List<String> currentModules = new ArrayList<>();
+        for (int i = 1; i < moduleFilter.getItemCount(); i++) {
+            currentModules.add(moduleFilter.getItemAt(i));
+        }
+        if (!currentModules.equals(new ArrayList<>(modules))) {
+            moduleFilter.removeAllItems();
+            moduleFilter.addItem(ALL_MODULES);
+            modules.forEach(moduleFilter::addItem);
+            moduleFilter.setSelectedItem(modules.contains(selectedModule) ? selectedModule : ALL_MODULES);
+        }
+    }
+
+    private void updateFilter() {
+        Object method = methodFilter.getSelectedItem();
+        Object module = moduleFilter.getSelectedItem();
+        boolean anyMethod = method == null || ALL_METHODS.equals(method);
+        boolean anyModule = module == null || ALL_MODULES.equals(module);
+        sorter.setRowFilter(anyMethod && anyModule ? null : new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends EndpointTableModel, ? extends Integer> entry) {
+                Row row = model.getRow(entry.getIdentifier());
+                return (anyMethod || method.equals(row.endpoint.getHttpMethod())) &&
+                        (anyModule || module.equals(row.module));
+            }
+        });
+    }
+
+    private Row getSelectedRow() {
+        int viewRow = table.getSelectedRow();
+        return viewRow != -1 ? model.getRow(table.convertRowIndexToModel(viewRow)) : null;
+    }
+
+    private void navigateToSelected() {
+        Row row = getSelectedRow();
+        if (row == null) {
+            return;
+        }
+        ReadAction.nonBlocking(() -> row.endpoint.findMethod(project))
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.defaultModalityState(), method -> {
+                    if (method != null) {
+                        method.navigate(true);
+                    }
+                })
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    private final class RefreshAction extends DumbAwareAction {
+        RefreshAction() {
+            super("Refresh", "Reload the endpoint list", AllIcons.Actions.Refresh);
+        }
+
+        @Override
+        public void actionPerformed(@NotNull AnActionEvent e) {
+            endpointsChanged(null);
+        }
+    }
+
+    private final class CopyCurlAction extends DumbAwareAction {
+        CopyCurlAction() {
+            super("Copy cURL", "Copy the cURL command of the selected endpoint", AllIcons.Actions.Copy);
+        }
+
+        @Override
+        public void actionPerformed(@NotNull AnActionEvent e) {
+            Row row = getSelectedRow();
+            if (row == null) {
+                return;
+            }
+            ReadAction.nonBlocking(() -> {
+                        PsiMethod method = row.endpoint.findMethod(project);
+                        if (method == null) {
+                            return null;
+                        }
+                        // The method may map several paths; pick the request for this row's URL
+                        List<EndpointRequest> requests = new CurlGenerator(project).buildRequests(method);
+                        for (EndpointRequest request : requests) {
+                            if (request.url.equals(row.url)) {
+                                return CurlGenerator.formatCurl(request);
+                            }
+                        }
+                        return requests.isEmpty() ? null : CurlGenerator.formatCurl(requests.get(0));
+                    })
+                    .inSmartMode(project)
+                    .expireWith(EndpointsPanel.this)
+                    .finishOnUiThread(ModalityState.defaultModalityState(), curl -> {
+                        if (curl == null) {
+                            SpringActionSupport.notify(project, "No Mapping Found",
+                                    "The endpoint no longer exists", NotificationType.WARNING);
+                            return;
+                        }
+                        CopyPasteManager.getInstance().setContents(new StringSelection(curl));
+                        SpringActionSupport.notify(project, "cURL Command Copied", row.endpoint.toString(),
+                                NotificationType.INFORMATION);
+                    })
+                    .submit(AppExecutorUtil.getAppExecutorService());
+        }
+
+        @Override
+        public void update(@NotNull AnActionEvent e) {
+            e.getPresentation().setEnabled(table.getSelectedRow() != -1);
+        }
+
+        @Override
+        public @NotNull ActionUpdateThread getActionUpdateThread() {
+            return ActionUpdateThread.EDT;
+        }
+    }
+
+    private final class CopyUrlAction extends DumbAwareAction {
+        CopyUrlAction() {
+            super("Copy URL", "Copy the full URL of the selected endpoint", AllIcons.General.Web);
+        }
+
+        @Override
+        public void actionPerformed(@NotNull AnActionEvent e) {
+            Row row = getSelectedRow();
+            if (row != null) {
+                CopyPasteManager.getInstance().setContents(new StringSelection(row.url));
+            }
+        }
+
+        @Override
+        public void update(@NotNull AnActionEvent e) {
+            e.getPresentation().setEnabled(table.getSelectedRow() != -1);
+        }
+
+        @Override
+        public @NotNull ActionUpdateThread getActionUpdateThread() {
+            return ActionUpdateThread.EDT;
+        }
+    }
+
+    private static final class RowUpdate {
+        final long since;
+        // Files whose rows are replaced, or null for all rows
+        final Set<VirtualFile> files;
+        final List<Row> rows;
+
+        RowUpdate(long since, Set<VirtualFile> files, List<Row> rows) {
+            this.since = since;
+            this.files = files;
+            this.rows = rows;
+        }
+    }
+
+    private static final class Row {
+        final Endpoint endpoint;
+        final String url;
+        final String module;
+
+        Row(Endpoint endpoint, String url, String module) {
+            this.endpoint = endpoint;
+            this.url = url;
+            this.module = module;
+        }
+
+        // Stays the same while the handler is edited or moved within its file, unlike the endpoint's offset
+        List<Object> getKey() {
+            return Arrays.asList(endpoint.getFile(), endpoint.getClassName(), endpoint.getMethodName(),
+                    endpoint.getHttpMethod(), endpoint.getPath());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Row)) return false;
+            Row that = (Row) o;
+            return endpoint.equals(that.endpoint) && url.equals(that.url) && module.equals(that.module);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, url, module);
+        }
+    }
+
+    private static final class EndpointTableModel extends AbstractTableModel {
+        static final int METHOD_COLUMN = 0;
+        private static final String[] COLUMNS = {"Method", "URL", "Handler"};
+
+        private final List<Row> rows = new ArrayList<>();
+
+        Row getRow(int index) {
+            return rows.get(index);
+        }
+
+        // Replaces the rows of the given files, or of all files if null: rows that disappeared are removed, firing
+        // one event per contiguous range, changed ones are updated in place and new ones appended
+        void update(Set<VirtualFile> files, List<Row> newRows) {
+            Map<List<Object>, Row> newByKey = new HashMap<>();
+            for (Row row : newRows) {
+                newByKey.put(row.getKey(), row);
+            }
+            int end = rows.size() - 1;
+            while (end >= 0) {
+                if (!isRemoved(rows.get(end), files, newByKey)) {
+                    end--;
+                    continue;
+                }
+                int start = end;
+                while (start > 0 && isRemoved(rows.get(start - 1), files, newByKey)) {
+                    start--;
+                }
+                rows.subList(start, end + 1).clear();
+                fireTableRowsDeleted(start, end);
+                end = start - 1;
+            }
+
+            Set<List<Object>> oldKeys = new HashSet<>();
+            for (int i = 0; i < rows.size(); i++) {
+                List<Object> key = rows.get(i).getKey();
+                oldKeys.add(key);
+                Row newRow = newByKey.get(key);
+                if (newRow != null && !newRow.equals(rows.get(i))) {
+                    rows.set(i, newRow);
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+            int firstAdded = rows.size();
+            for (Row row : newRows) {
+                if (oldKeys.add(row.getKey())) {
+                    rows.add(row);
+                }
+            }
+            if (rows.size() > firstAdded) {
+                fireTableRowsInserted(firstAdded, rows.size() - 1);
+            }
+        }
+
+        private static boolean isRemoved(Row row, Set<VirtualFile> files, Map<List<Object>, Row> newByKey) {
+            return (files == null || files.contains(row.endpoint.getFile())) && !newByKey.containsKey(row.getKey());
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Row row = rows.get(rowIndex);
+            switch (columnIndex) {
+                case METHOD_COLUMN:
+                    return row.endpoint.getHttpMethod();
+                case 1:
+                    return row.url;
+                default:
+                    return row.endpoint.getPresentableOwner();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.springurlextractor;
+
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// Writes every endpoint of the selection, or of the whole project, to a .http file, Postman collection or shell script
+public class ExportEndpointsAction extends AnAction {
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        List<VirtualFile> selectedRoots = CopyAllEndpointsAction.getSelectedRoots(e);
+        List<VirtualFile> roots = !selectedRoots.isEmpty()
+                ? selectedRoots
+                : Arrays.asList(ProjectRootManager.getInstance(project).getContentRoots());
+
+        JBPopupFactory.getInstance()
+                .createPopupChooserBuilder(Arrays.asList(EndpointExportFormat.values()))
+                .setTitle("Export Spring Endpoints As")
+                .setItemChosenCallback(format -> chooseFileAndExport(project, roots, format))
+                .createPopup()
+                .showCenteredInCurrentWindow(project);
+    }
+
+    private static void chooseFileAndExport(Project project, List<VirtualFile> roots, EndpointExportFormat format) {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Spring Endpoints",
+                "Choose where to write the " + format.presentableName + " file", format.extension);
+        VirtualFileWrapper target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(ProjectUtil.guessProjectDir(project), project.getName() + format.fileNameSuffix);
+        if (target == null) {
+            return;
+        }
+        Path path = target.getFile().toPath();
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Exporting Spring endpoints", true) {
+            private int count;
+            private IOException error;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(false);
+                BulkEndpointExtractor extractor = new BulkEndpointExtractor(project);
+                List<VirtualFile> files = extractor.collectSourceFiles(roots, indicator);
+                try (EndpointExportWriter writer = format.createWriter(
+                        Files.newBufferedWriter(path, StandardCharsets.UTF_8), project.getName())) {
+                    extractor.extract(files, indicator, requests -> {
+                        try {
+                            for (EndpointRequest request : requests) {
+                                writer.write(request);
+                            }
+                        } catch (IOException ioException) {
+                            throw new UncheckedIOException(ioException);
+                        }
+                        count += requests.size();
+                    });
+                } catch (IOException ioException) {
+                    error = ioException;
+                } catch (UncheckedIOException ioException) {
+                    error = ioException.getCause();
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (error != null) {
+                    SpringActionSupport.notify(project, "Export Failed", error.getMessage(), NotificationType.ERROR);
+                    return;
+                }
+                LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path);
+                SpringActionSupport.notify(project, "Spring Endpoints Exported",
+                        count + " endpoints written to " + path.getFileName(), NotificationType.INFORMATION);
+            }
+        });
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
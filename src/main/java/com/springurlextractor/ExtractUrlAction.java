@@ -1,14 +1,11 @@
 package com.springurlextractor;
 
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.actionSystem.CommonDataKeys;
-import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.ide.CopyPasteManager;
-import com.intellij.openapi.project.Project;
-import com.intellij.openapi.ui.Messages;
-import com.intellij.psi.*;
-import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
 
 import java.awt.datatransfer.StringSelection;
 
@@ -16,46 +13,29 @@ public class ExtractUrlAction extends AnAction {
 
     @Override
     public void actionPerformed(AnActionEvent e) {
-        Project project = e.getProject();
-        Editor editor = e.getData(CommonDataKeys.EDITOR);
-        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
-
-        if (project == null || editor == null || psiFile == null) {
-            return;
-        }
-
-        PsiElement element = psiFile.findElementAt(editor.getCaretModel().getOffset());
-        PsiMethod method = PsiTreeUtil.getParentOfType(element, PsiMethod.class);
-
-        if (method == null) {
-            Messages.showInfoMessage("Please place cursor inside a controller method", "No Method Found");
-            return;
-        }
-
-        SpringUrlExtractor extractor = new SpringUrlExtractor(project);
-        String url = extractor.extractUrl(method);
-
-        if (url != null && !url.isEmpty()) {
-            // Copy to clipboard
-            CopyPasteManager.getInstance().setContents(new StringSelection(url));
-            Messages.showInfoMessage("URL copied to clipboard: " + url, "Spring URL Extracted");
-        } else {
-            Messages.showInfoMessage("No Spring mapping annotation found", "No URL Found");
-        }
+        SpringActionSupport.computeForCaretMethod(e, "Extracting Spring URL",
+                method -> new SpringUrlExtractor(method.getProject()).extractUrl(method),
+                (project, urls) -> {
+                    if (urls != null && !urls.isEmpty()) {
+                        // Copy to clipboard, one URL per line when the mapping declares several paths
+                        String text = String.join("\n", urls);
+                        CopyPasteManager.getInstance().setContents(new StringSelection(text));
+                        SpringActionSupport.notify(project, "Spring URL Extracted", "URL copied to clipboard: " + text,
+                                NotificationType.INFORMATION);
+                    } else {
+                        SpringActionSupport.notify(project, "No URL Found", "No Spring mapping annotation found",
+                                NotificationType.WARNING);
+                    }
+                });
     }
 
     @Override
     public void update(AnActionEvent e) {
-//        Project project = e.getProject();
-//        Editor editor = e.getData(CommonDataKeys.EDITOR);
-//        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
-//
-//        boolean enabled = project != null && editor != null && psiFile != null &&
-//                psiFile.getName().endsWith(".java");
-//        e.getPresentation().setEnabled(enabled);
-
-        e.getPresentation().setEnabled(true);
-        e.getPresentation().setVisible(true);
+        SpringActionSupport.updateForCaretMethod(e);
+    }
 
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
     }
-}
\ No newline at end of file
+}
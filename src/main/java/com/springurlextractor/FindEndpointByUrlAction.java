@@ -0,0 +1,155 @@
+package com.springurlextractor;
+
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.psi.PsiMethod;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.datatransfer.DataFlavor;
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Paste a concrete request URL such as "GET https://host/api/v2/orders/123/items?x=1" and jump to its handler
+public class FindEndpointByUrlAction extends AnAction {
+    private static final Pattern SCHEME_AND_AUTHORITY = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/?#]*");
+    private static final Set<String> HTTP_METHODS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        String clipboard = CopyPasteManager.getInstance().getContents(DataFlavor.stringFlavor);
+        String input = Messages.showInputDialog(project, "Request URL (optionally prefixed with the HTTP method):",
+                "Find Spring Endpoint by URL", null, clipboard != null ? clipboard.trim() : "", null);
+        if (input == null || input.trim().isEmpty()) {
+            return;
+        }
+
+        // Works during indexing too: endpoints then come from EndpointCache
+        ReadAction.nonBlocking(() -> findEndpoints(project, input.trim()))
+                .expireWith(ServerConfigService.getInstance(project))
+                .finishOnUiThread(ModalityState.defaultModalityState(), endpoints -> navigate(project, endpoints))
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    private static List<Endpoint> findEndpoints(Project project, String input) {
+        String httpMethod = null;
+        String url = input;
+        int space = input.indexOf(' ');
+        if (space != -1 && HTTP_METHODS.contains(input.substring(0, space).toUpperCase(Locale.ROOT))) {
+            httpMethod = input.substring(0, space).toUpperCase(Locale.ROOT);
+            url = input.substring(space + 1).trim();
+        }
+
+        String path = stripToPath(url);
+        PathPatternMatcher matcher = EndpointService.getInstance(project).getPatternMatcher();
+
+        // Try every configured context path first, then the path as is
+        for (String contextPath : getContextPaths(project)) {
+            if (path.equals(contextPath) || path.startsWith(contextPath + "/")) {
+                List<Endpoint> endpoints = matcher.match(path.substring(contextPath.length()), httpMethod);
+                if (!endpoints.isEmpty()) {
+                    return endpoints;
+                }
+            }
+        }
+        return matcher.match(path, httpMethod);
+    }
+
+    private static String stripToPath(String url) {
+        String path = SCHEME_AND_AUTHORITY.matcher(url).replaceFirst("");
+        int end = path.length();
+        int query = path.indexOf('?');
+        if (query != -1) {
+            end = query;
+        }
+        int fragment = path.indexOf('#');
+        if (fragment != -1 && fragment < end) {
+            end = fragment;
+        }
+        path = path.substring(0, end);
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    // Distinct non-empty context paths of the project and of every module, longest first
+    private static List<String> getContextPaths(Project project) {
+        ServerConfigService configService = ServerConfigService.getInstance(project);
+        Set<String> contextPaths = new HashSet<>();
+        addContextPath(contextPaths, configService.getServerConfig());
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            addContextPath(contextPaths, configService.getServerConfig(module));
+        }
+
+        List<String> result = new ArrayList<>(contextPaths);
+        result.sort(Comparator.comparingInt(String::length).reversed());
+        return result;
+    }
+
+    private static void addContextPath(Set<String> contextPaths, ServerConfig serverConfig) {
+        String contextPath = serverConfig.getContextPath();
+        if (contextPath == null || contextPath.isEmpty() || "/".equals(contextPath)) {
+            return;
+        }
+        if (!contextPath.startsWith("/")) {
+            contextPath = "/" + contextPath;
+        }
+        if (contextPath.endsWith("/")) {
+            contextPath = contextPath.substring(0, contextPath.length() - 1);
+        }
+        contextPaths.add(contextPath);
+    }
+
+    private static void navigate(Project project, List<Endpoint> endpoints) {
+        if (endpoints.isEmpty()) {
+            SpringActionSupport.notify(project, "No Endpoint Found", "No controller method matches this URL",
+                    NotificationType.WARNING);
+            return;
+        }
+        if (endpoints.size() == 1) {
+            navigate(project, endpoints.get(0));
+            return;
+        }
+
+        JBPopupFactory.getInstance()
+                .createPopupChooserBuilder(endpoints)
+                .setTitle("Matching Endpoints")
+                .setRenderer(SimpleListCellRenderer.create((label, endpoint, index) ->
+                        label.setText(endpoint.getHttpMethod() + " " + endpoint.getPath() + "    " +
+                                endpoint.getPresentableOwner())))
+                .setItemChosenCallback(endpoint -> navigate(project, endpoint))
+                .createPopup()
+                .showCenteredInCurrentWindow(project);
+    }
+
+    private static void navigate(Project project, Endpoint endpoint) {
+        PsiMethod method = endpoint.findMethod(project);
+        if (method != null) {
+            method.navigate(true);
+        }
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -0,0 +1,98 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.*;
+
+// Spring also honours mappings declared on the methods a handler overrides and @RequestMapping on superclasses and
+// interfaces, as with OpenAPI-generated *Api interfaces. The merged view of a controller class is built once and
+// cached on the class; since its hierarchy spans files, any PSI change drops it.
+final class InheritedMappingResolver {
+    private InheritedMappingResolver() {
+    }
+
+    // The method itself if it carries a mapping, else the nearest overridden method that does, or null.
+    // Only the method's own annotations are looked at in dumb mode.
+    static PsiMethod findMappingSource(PsiMethod method) {
+        PsiClass containingClass = method.getContainingClass();
+        if (containingClass == null || DumbService.isDumb(method.getProject())) {
+            return SpringUrlExtractor.isMappedMethod(method) ? method : null;
+        }
+        return getControllerMapping(containingClass).mappingSources.get(method);
+    }
+
+    // Paths of the class's @RequestMapping, else those of the nearest supertype declaring one
+    static List<String> getClassPaths(PsiClass psiClass) {
+        if (DumbService.isDumb(psiClass.getProject())) {
+            return SpringUrlExtractor.computeControllerBasePaths(psiClass, true);
+        }
+        return getControllerMapping(psiClass).classPaths;
+    }
+
+    private static ControllerMapping getControllerMapping(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () ->
+                CachedValueProvider.Result.create(computeControllerMapping(psiClass),
+                        PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    private static ControllerMapping computeControllerMapping(PsiClass psiClass) {
+        Map<PsiMethod, PsiMethod> mappingSources = new HashMap<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            ProgressManager.checkCanceled();
+            PsiMethod source = SpringUrlExtractor.isResolvedMappedMethod(method) ? method : findMappedSuperMethod(method);
+            if (source != null) {
+                mappingSources.put(method, source);
+            }
+        }
+        return new ControllerMapping(computeClassPaths(psiClass), mappingSources);
+    }
+
+    // Breadth-first, so a mapping on the directly overridden method wins over one further up
+    private static PsiMethod findMappedSuperMethod(PsiMethod method) {
+        Set<PsiMethod> visited = new HashSet<>();
+        Deque<PsiMethod> queue = new ArrayDeque<>(Arrays.asList(method.findSuperMethods()));
+        while (!queue.isEmpty()) {
+            PsiMethod superMethod = queue.removeFirst();
+            if (!visited.add(superMethod)) {
+                continue;
+            }
+            if (SpringUrlExtractor.isResolvedMappedMethod(superMethod)) {
+                return superMethod;
+            }
+            queue.addAll(Arrays.asList(superMethod.findSuperMethods()));
+        }
+        return null;
+    }
+
+    private static List<String> computeClassPaths(PsiClass psiClass) {
+        Set<PsiClass> visited = new HashSet<>();
+        Deque<PsiClass> queue = new ArrayDeque<>();
+        queue.add(psiClass);
+        while (!queue.isEmpty()) {
+            PsiClass current = queue.removeFirst();
+            if (!visited.add(current) || CommonClassNames.JAVA_LANG_OBJECT.equals(current.getQualifiedName())) {
+                continue;
+            }
+            if (SpringUrlExtractor.findControllerMappingAnnotation(current) != null) {
+                return SpringUrlExtractor.computeControllerBasePaths(current, true);
+            }
+            queue.addAll(Arrays.asList(current.getSupers()));
+        }
+        return Collections.singletonList("");
+    }
+
+    private static final class ControllerMapping {
+        final List<String> classPaths;
+        final Map<PsiMethod, PsiMethod> mappingSources;
+
+        ControllerMapping(List<String> classPaths, Map<PsiMethod, PsiMethod> mappingSources) {
+            this.classPaths = classPaths;
+            this.mappingSources = mappingSources;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.springurlextractor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Config layers of one resolution scope, merged on demand in Spring Boot's precedence order
+final class LayeredConfig {
+    private final List<ConfigLayer> baseLayers;
+    private final Function<String, List<ConfigLayer>> profileLayerLoader;
+    private final Map<String, List<ConfigLayer>> profileLayers = new ConcurrentHashMap<>();
+    private final Map<List<String>, PlaceholderResolver> resolvers = new ConcurrentHashMap<>();
+    private final Map<List<String>, ServerConfig> serverConfigs = new ConcurrentHashMap<>();
+    private volatile List<String> activeProfiles;
+
+    LayeredConfig(List<ConfigLayer> baseLayers, Function<String, List<ConfigLayer>> profileLayerLoader) {
+        this.baseLayers = baseLayers;
+        this.profileLayerLoader = profileLayerLoader;
+    }
+
+    // Profiles named by spring.profiles.active in the base files
+    List<String> getActiveProfiles() {
+        List<String> profiles = activeProfiles;
+        if (profiles == null) {
+            profiles = new ArrayList<>();
+            String value = getResolver(Collections.emptyList()).get(ConfigLayer.ACTIVE_PROFILES_KEY);
+            if (value != null) {
+                for (String profile : value.split(",")) {
+                    if (!profile.trim().isEmpty()) {
+                        profiles.add(profile.trim());
+                    }
+                }
+            }
+            activeProfiles = profiles = Collections.unmodifiableList(profiles);
+        }
+        return profiles;
+    }
+
+    ServerConfig getServerConfig(List<String> profiles) {
+        return serverConfigs.computeIfAbsent(List.copyOf(profiles), this::createServerConfig);
+    }
+
+    // Merged values with ${...} placeholders resolved, memoized per key for this set of profiles
+    PlaceholderResolver getResolver(List<String> profiles) {
+        List<String> key = List.copyOf(profiles);
+        return resolvers.computeIfAbsent(key, k -> new PlaceholderResolver(property -> get(property, k)));
+    }
+
+    // Later active profiles win over earlier ones, and every profile file wins over the base files
+    String get(String key, List<String> profiles) {
+        for (int i = profiles.size() - 1; i >= 0; i--) {
+            List<ConfigLayer> layers = profileLayers.computeIfAbsent(profiles.get(i), profileLayerLoader);
+            String value = getFromLayers(layers, key, profiles);
+            if (value != null) {
+                return value;
+            }
+        }
+        return getFromLayers(baseLayers, key, profiles);
+    }
+
+    private static String getFromLayers(List<ConfigLayer> layers, String key, List<String> profiles) {
+        for (ConfigLayer layer : layers) {
+            String value = layer.get(key, profiles);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private ServerConfig createServerConfig(List<String> profiles) {
+        PlaceholderResolver resolver = getResolver(profiles);
+        String contextPath = resolver.get("server.servlet.context-path");
+        if (contextPath == null) {
+            contextPath = resolver.get("server.context-path");
+        }
+        String servletPath = resolver.get("spring.mvc.servlet.path");
+        if (servletPath == null) {
+            servletPath = resolver.get("spring.webflux.base-path");
+        }
+
+        // Check for SSL configuration
+        String protocol = "true".equalsIgnoreCase(resolver.get("server.ssl.enabled")) ? "https" : "http";
+
+        return new ServerConfig(resolver.get("server.address"), resolver.get("server.port"), protocol,
+                joinPaths(contextPath, servletPath));
+    }
+
+    private static String joinPaths(String first, String second) {
+        if (second == null || second.isEmpty() || "/".equals(second)) {
+            return first;
+        }
+        if (first == null || first.isEmpty()) {
+            return second;
+        }
+        String head = first.endsWith("/") ? first.substring(0, first.length() - 1) : first;
+        return second.startsWith("/") ? head + second : head + "/" + second;
+    }
+}
@@ -0,0 +1,201 @@
+package com.springurlextractor;
+
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+
+import java.util.*;
+
+// Follows composed mapping annotations such as @ApiGet, meta-annotated with @GetMapping("/api") and declaring
+// "@AliasFor(annotation = GetMapping.class) String[] value()". What an annotation class stands for is resolved
+// once and cached on that class, so a deep chain costs nothing more per call until one of its classes changes.
+final class MappingAnnotationResolver {
+    private static final Set<String> ALIAS_TARGETS = Set.of("value", "path");
+    private static final List<String> MAPPING_ANNOTATION_CLASSES = List.of(
+            "org.springframework.web.bind.annotation.RequestMapping",
+            "org.springframework.web.bind.annotation.GetMapping",
+            "org.springframework.web.bind.annotation.PostMapping",
+            "org.springframework.web.bind.annotation.PutMapping",
+            "org.springframework.web.bind.annotation.DeleteMapping",
+            "org.springframework.web.bind.annotation.PatchMapping");
+
+    private MappingAnnotationResolver() {
+    }
+
+    // HTTP method and path of the first composed mapping annotation on the method, or null if there is none.
+    // Built-in mapping annotations are handled by the text-based helpers and are not looked at here.
+    static Mapping findComposedMapping(PsiMethod method) {
+        if (DumbService.isDumb(method.getProject())) {
+            return null;
+        }
+        for (PsiAnnotation annotation : method.getAnnotations()) {
+            if (SpringUrlExtractor.isMappingAnnotation(annotation)) {
+                continue;
+            }
+            PsiClass annotationClass = annotation.resolveAnnotationType();
+            ComposedMapping composed = annotationClass != null ? getComposedMapping(annotationClass) : null;
+            if (composed != null) {
+                return new Mapping(composed.httpMethod, composed.getPaths(annotation));
+            }
+        }
+        return null;
+    }
+
+    // Short names of every composed mapping annotation in the project and its libraries, found through the annotation
+    // index and kept until Java code changes; empty in dumb mode. Lets a name check stand in for resolving.
+    static Set<String> getComposedMappingNames(Project project) {
+        if (DumbService.isDumb(project)) {
+            return Collections.emptySet();
+        }
+        return CachedValuesManager.getManager(project).getCachedValue(project, () -> {
+            GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+            Deque<PsiClass> queue = new ArrayDeque<>();
+            for (String qualifiedName : MAPPING_ANNOTATION_CLASSES) {
+                PsiClass mappingClass = JavaPsiFacade.getInstance(project).findClass(qualifiedName, scope);
+                if (mappingClass != null) {
+                    queue.add(mappingClass);
+                }
+            }
+
+            Set<String> names = new HashSet<>();
+            Set<PsiClass> visited = new HashSet<>();
+            while (!queue.isEmpty()) {
+                PsiClass annotationClass = queue.removeFirst();
+                if (!visited.add(annotationClass)) {
+                    continue;
+                }
+                for (PsiClass composed : AnnotatedElementsSearch.searchPsiClasses(annotationClass, scope).findAll()) {
+                    ProgressManager.checkCanceled();
+                    if (composed.isAnnotationType() && composed.getName() != null) {
+                        names.add(composed.getName());
+                        queue.add(composed);
+                    }
+                }
+            }
+            return CachedValueProvider.Result.create(names,
+                    PsiModificationTracker.getInstance(project).forLanguage(JavaLanguage.INSTANCE),
+                    ProjectRootManager.getInstance(project), DumbService.getInstance(project).getModificationTracker());
+        });
+    }
+
+    private static ComposedMapping getComposedMapping(PsiClass annotationClass) {
+        return CachedValuesManager.getCachedValue(annotationClass, () -> {
+            Set<PsiClass> chain = new LinkedHashSet<>();
+            ComposedMapping composed = computeComposedMapping(annotationClass, chain);
+            return CachedValueProvider.Result.create(composed, chain.toArray());
+        });
+    }
+
+    private static ComposedMapping computeComposedMapping(PsiClass annotationClass, Set<PsiClass> chain) {
+        if (!annotationClass.isAnnotationType() || !chain.add(annotationClass)) {
+            return null;
+        }
+        String qualifiedName = annotationClass.getQualifiedName();
+        if (qualifiedName != null && qualifiedName.startsWith("java.lang.")) {
+            return null;
+        }
+
+        for (PsiAnnotation metaAnnotation : annotationClass.getAnnotations()) {
+            String metaName = SpringUrlExtractor.getAnnotationShortName(metaAnnotation);
+            if (SpringUrlExtractor.isMappingAnnotation(metaAnnotation)) {
+                return new ComposedMapping(CurlGenerator.getHttpMethod(metaAnnotation), metaAnnotation, null,
+                        getPathAliases(annotationClass, metaName, ALIAS_TARGETS));
+            }
+
+            PsiClass metaClass = metaAnnotation.resolveAnnotationType();
+            ComposedMapping inner = metaClass != null ? computeComposedMapping(metaClass, chain) : null;
+            if (inner != null) {
+                return new ComposedMapping(inner.httpMethod, metaAnnotation, inner,
+                        getPathAliases(annotationClass, metaName, inner.pathAliases));
+            }
+        }
+        return null;
+    }
+
+    // Attributes of the annotation class declared as @AliasFor one of the target's path attributes
+    private static List<String> getPathAliases(PsiClass annotationClass, String targetName, Collection<String> targets) {
+        List<String> aliases = new ArrayList<>();
+        for (PsiMethod attribute : annotationClass.getMethods()) {
+            for (PsiAnnotation annotation : attribute.getAnnotations()) {
+                if (!"AliasFor".equals(SpringUrlExtractor.getAnnotationShortName(annotation))) {
+                    continue;
+                }
+                PsiAnnotationMemberValue target = annotation.findDeclaredAttributeValue("annotation");
+                if (!(target instanceof PsiClassObjectAccessExpression)) {
+                    continue;
+                }
+                PsiTypeElement targetType = ((PsiClassObjectAccessExpression) target).getOperand();
+                PsiJavaCodeReferenceElement reference = targetType.getInnermostComponentReferenceElement();
+                if (reference == null || !targetName.equals(reference.getReferenceName())) {
+                    continue;
+                }
+
+                // "attribute" and "value" are aliases of each other; both default to the attribute's own name
+                String targetAttribute = getStringValue(annotation, "attribute");
+                if (targetAttribute == null) {
+                    targetAttribute = getStringValue(annotation, "value");
+                }
+                if (targets.contains(targetAttribute != null ? targetAttribute : attribute.getName())) {
+                    aliases.add(attribute.getName());
+                }
+            }
+        }
+        return aliases;
+    }
+
+    private static String getStringValue(PsiAnnotation annotation, String attributeName) {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attributeName);
+        String result = value != null ? SpringUrlExtractor.extractStringFromAnnotationValue(value, false) : null;
+        return result != null && !result.isEmpty() ? result : null;
+    }
+
+    static final class Mapping {
+        final String httpMethod;
+        final List<String> paths;
+
+        Mapping(String httpMethod, List<String> paths) {
+            this.httpMethod = httpMethod;
+            this.paths = paths;
+        }
+    }
+
+    // Default paths are read from the meta-annotation on each call rather than stored, so a constant such as
+    // ApiPaths.V1 defined outside the chain is re-evaluated (through its own cache) when it changes
+    private static final class ComposedMapping {
+        final String httpMethod;
+        final PsiAnnotation metaAnnotation;
+        final ComposedMapping inner;
+        final List<String> pathAliases;
+
+        ComposedMapping(String httpMethod, PsiAnnotation metaAnnotation, ComposedMapping inner,
+                        List<String> pathAliases) {
+            this.httpMethod = httpMethod;
+            this.metaAnnotation = metaAnnotation;
+            this.inner = inner;
+            this.pathAliases = pathAliases;
+        }
+
+        // The paths given through an alias attribute of this annotation, else those declared on the meta-annotation
+        List<String> getPaths(PsiAnnotation annotation) {
+            for (String alias : pathAliases) {
+                PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(alias);
+                List<String> paths = value != null ?
+                        SpringUrlExtractor.extractStringsFromAnnotationValue(value, true) : null;
+                if (paths != null && SpringUrlExtractor.containsNonEmpty(paths)) {
+                    return paths;
+                }
+            }
+            // A path set on a composed meta-annotation, e.g. @ApiGet("/v1"), replaces that annotation's default
+            return inner != null ? inner.getPaths(metaAnnotation) :
+                    SpringUrlExtractor.extractPathsFromAnnotation(metaAnnotation, true);
+        }
+    }
+}
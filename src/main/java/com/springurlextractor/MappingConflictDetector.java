@@ -0,0 +1,272 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.progress.ProgressManager;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Finds mappings Spring would reject: the same verb, conditions and pattern up to variable names (startup failure),
+// or two patterns that match a common path with equal specificity ("Ambiguous handler methods" per request).
+// A @RequestMapping without a method serves every verb, so it also overlaps the verb-specific mappings of its path.
+// Duplicates are grouped by hash; overlaps come from one walk of a per-verb segment trie, not pairwise checks.
+final class MappingConflictDetector {
+    enum Kind {
+        DUPLICATE, AMBIGUOUS, OVERLAPPING
+    }
+
+    private static final List<String> HTTP_METHODS = List.of("GET", "POST", "PUT", "DELETE", "PATCH");
+    private static final String VARIABLE = "{}";
+    private static final String CATCH_ALL = "**";
+
+    private final Map<String, List<Endpoint>> byKey = new HashMap<>();
+    private final Map<String, Node> rootsByVerb = new HashMap<>();
+    private final Map<String, Pattern> segmentPatterns = new HashMap<>();
+
+    MappingConflictDetector(Collection<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.hasConstantPath()) {
+                // Only the literal part of the path is known, which would collide with unrelated mappings
+                continue;
+            }
+            List<String> segments = normalize(endpoint.getPath());
+            for (String verb : getVerbs(endpoint)) {
+                byKey.computeIfAbsent(getKey(verb, segments, endpoint.getConditions()), key -> new ArrayList<>())
+                        .add(endpoint);
+                if (segments.contains(CATCH_ALL)) {
+                    // Catch-all patterns are always the least specific, so only exact duplicates matter for them
+                    continue;
+                }
+
+                Node node = rootsByVerb.computeIfAbsent(verb, key -> new Node());
+                for (String segment : segments) {
+                    node = (isLiteral(segment) ? node.literalChildren : node.patternChildren)
+                            .computeIfAbsent(segment, key -> new Node());
+                }
+                node.endpoints.add(endpoint);
+            }
+        }
+    }
+
+    // Conflicts of one endpoint with every other endpoint of the project
+    List<Conflict> findConflicts(Endpoint endpoint) {
+        List<Conflict> conflicts = new ArrayList<>();
+        if (endpoint.hasConstantPath()) {
+            return conflicts;
+        }
+        List<String> segments = normalize(endpoint.getPath());
+        // An endpoint serving every verb is met once per verb
+        Set<Endpoint> seen = new HashSet<>();
+        seen.add(endpoint);
+        for (String verb : getVerbs(endpoint)) {
+            for (Endpoint other : byKey.getOrDefault(getKey(verb, segments, endpoint.getConditions()),
+                    Collections.emptyList())) {
+                if (seen.add(other)) {
+                    // Spring prefers a mapping naming the verb over one serving every verb, so only equal ones clash
+                    conflicts.add(new Conflict(endpoint, other,
+                            other.isAnyMethod() == endpoint.isAnyMethod() ? Kind.DUPLICATE : Kind.OVERLAPPING));
+                }
+            }
+
+            Node root = rootsByVerb.get(verb);
+            if (root == null || segments.contains(CATCH_ALL)) {
+                continue;
+            }
+            List<Endpoint> overlapping = new ArrayList<>();
+            collectOverlapping(root, segments, 0, overlapping);
+            Specificity specificity = new Specificity(endpoint.getPath());
+            for (Endpoint other : overlapping) {
+                if (other.isAnyMethod() == endpoint.isAnyMethod() &&
+                        other.getConditions().equals(endpoint.getConditions()) &&
+                        !segments.equals(normalize(other.getPath())) &&
+                        specificity.equals(new Specificity(other.getPath())) && seen.add(other)) {
+                    conflicts.add(new Conflict(endpoint, other, Kind.AMBIGUOUS));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    // Every conflicting pair of the project, each reported once
+    List<Conflict> findAllConflicts() {
+        List<Conflict> result = new ArrayList<>();
+        Set<Set<Endpoint>> reported = new HashSet<>();
+        Set<Endpoint> endpoints = new LinkedHashSet<>();
+        byKey.values().forEach(endpoints::addAll);
+        for (Endpoint endpoint : endpoints) {
+            ProgressManager.checkCanceled();
+            for (Conflict conflict : findConflicts(endpoint)) {
+                if (reported.add(Set.of(conflict.endpoint, conflict.other))) {
+                    result.add(conflict);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collectOverlapping(Node node, List<String> segments, int index, List<Endpoint> result) {
+        if (index == segments.size()) {
+            result.addAll(node.endpoints);
+            return;
+        }
+
+        String segment = segments.get(index);
+        if (isLiteral(segment)) {
+            Node literalChild = node.literalChildren.get(segment);
+            if (literalChild != null) {
+                collectOverlapping(literalChild, segments, index + 1, result);
+            }
+            for (Map.Entry<String, Node> child : node.patternChildren.entrySet()) {
+                if (getSegmentPattern(child.getKey()).matcher(segment).matches()) {
+                    collectOverlapping(child.getValue(), segments, index + 1, result);
+                }
+            }
+        } else {
+            for (Map.Entry<String, Node> child : node.literalChildren.entrySet()) {
+                if (getSegmentPattern(segment).matcher(child.getKey()).matches()) {
+                    collectOverlapping(child.getValue(), segments, index + 1, result);
+                }
+            }
+            for (Map.Entry<String, Node> child : node.patternChildren.entrySet()) {
+                // Two different regular expressions are assumed not to overlap, to avoid false alarms
+                if (segment.equals(child.getKey()) || VARIABLE.equals(segment) || VARIABLE.equals(child.getKey())) {
+                    collectOverlapping(child.getValue(), segments, index + 1, result);
+                }
+            }
+        }
+    }
+
+    private Pattern getSegmentPattern(String segment) {
+        return segmentPatterns.computeIfAbsent(segment, PathPatternMatcher::compileSegment);
+    }
+
+    private static List<String> getVerbs(Endpoint endpoint) {
+        return endpoint.isAnyMethod() ? HTTP_METHODS : Collections.singletonList(endpoint.getHttpMethod());
+    }
+
+    // Mappings differing only in produces, consumes, params or headers are told apart by Spring, so those are part
+    // of the key
+    private static String getKey(String httpMethod, List<String> segments, String conditions) {
+        return httpMethod + " /" + String.join("/", segments) + " " + conditions;
+    }
+
+    // Variable names do not matter to Spring: "{id}", "{userId}" and "*" all become "{}", "{id:\d+}" becomes "{:\d+}"
+    static List<String> normalize(String path) {
+        List<String> segments = EndpointSegmentTrie.splitPath(path);
+        List<String> result = new ArrayList<>(segments.size());
+        for (String segment : segments) {
+            if ("**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"))) {
+                result.add(CATCH_ALL);
+            } else if ("*".equals(segment)) {
+                result.add(VARIABLE);
+            } else {
+                result.add(normalizeVariables(segment));
+            }
+        }
+        return result;
+    }
+
+    private static String normalizeVariables(String segment) {
+        if (segment.indexOf('{') == -1) {
+            return segment;
+        }
+        StringBuilder result = new StringBuilder();
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i);
+            if (c != '{') {
+                result.append(c);
+                i++;
+                continue;
+            }
+            int end = findClosingBrace(segment, i);
+            if (end == -1) {
+                // An unclosed brace, as in a half-typed "/orders/{", is kept as text
+                result.append(segment, i, segment.length());
+                break;
+            }
+            String variable = segment.substring(i + 1, end);
+            int colon = variable.indexOf(':');
+            result.append('{').append(colon != -1 ? variable.substring(colon) : "").append('}');
+            i = end + 1;
+        }
+        return result.toString();
+    }
+
+    private static int findClosingBrace(String segment, int open) {
+        int depth = 0;
+        for (int i = open; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLiteral(String segment) {
+        return !EndpointSegmentTrie.isVariableSegment(segment) && segment.indexOf('?') == -1;
+    }
+
+    static final class Conflict {
+        final Endpoint endpoint;
+        final Endpoint other;
+        final Kind kind;
+
+        Conflict(Endpoint endpoint, Endpoint other, Kind kind) {
+            this.endpoint = endpoint;
+            this.other = other;
+            this.kind = kind;
+        }
+    }
+
+    // Spring's PathPattern ordering: variables plus 100 per wildcard, then length with each variable counted as one
+    private static final class Specificity {
+        final int score;
+        final int length;
+
+        Specificity(String path) {
+            int variables = 0;
+            int wildcards = 0;
+            int normalizedLength = 0;
+            int i = 0;
+            while (i < path.length()) {
+                char c = path.charAt(i);
+                int end = c == '{' ? findClosingBrace(path, i) : -1;
+                if (end != -1) {
+                    variables++;
+                    normalizedLength++;
+                    i = end + 1;
+                    continue;
+                }
+                if (c == '*') {
+                    wildcards++;
+                }
+                normalizedLength++;
+                i++;
+            }
+            this.score = variables + wildcards * 100;
+            this.length = normalizedLength;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Specificity)) return false;
+            Specificity that = (Specificity) o;
+            return score == that.score && length == that.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(score, length);
+        }
+    }
+
+    private static class Node {
+        final Map<String, Node> literalChildren = new HashMap<>();
+        final Map<String, Node> patternChildren = new HashMap<>();
+        final List<Endpoint> endpoints = new ArrayList<>(1);
+    }
+}
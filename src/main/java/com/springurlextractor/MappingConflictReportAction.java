@@ -0,0 +1,74 @@
+package com.springurlextractor;
+
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.testFramework.LightVirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+// Lists every duplicate and ambiguous mapping of the project in a read-only editor tab
+public class MappingConflictReportAction extends AnAction {
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Checking Spring mappings", true) {
+            private int count;
+            private String report;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                ReadAction.nonBlocking(() -> {
+                            List<MappingConflictDetector.Conflict> conflicts =
+                                    EndpointService.getInstance(project).getConflictDetector().findAllConflicts();
+                            StringBuilder builder = new StringBuilder();
+                            for (MappingConflictDetector.Conflict conflict : conflicts) {
+                                builder.append(conflict.kind).append('\t')
+                                        .append(conflict.endpoint.getPresentableOwner()).append('\t')
+                                        .append(AmbiguousMappingInspection.getMessage(conflict)).append('\n');
+                            }
+                            count = conflicts.size();
+                            report = builder.toString();
+                        })
+                        .inSmartMode(project)
+                        .wrapProgress(indicator)
+                        .executeSynchronously();
+            }
+
+            @Override
+            public void onSuccess() {
+                if (count == 0) {
+                    SpringActionSupport.notify(project, "No Mapping Conflicts",
+                            "No duplicate or ambiguous Spring mappings found", NotificationType.INFORMATION);
+                    return;
+                }
+                LightVirtualFile file = new LightVirtualFile("Spring mapping conflicts.txt", report);
+                file.setWritable(false);
+                FileEditorManager.getInstance(project).openFile(file, true);
+            }
+        });
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -0,0 +1,177 @@
+package com.springurlextractor;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Decision tree over the segments of Spring path patterns: literals, {var}, {var:regex}, *, ** and {*rest}.
+// A concrete path is matched segment by segment, trying more specific branches first.
+final class PathPatternMatcher {
+    private final Node root = new Node();
+
+    PathPatternMatcher(Collection<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            add(endpoint);
+        }
+    }
+
+    private void add(Endpoint endpoint) {
+        Node node = root;
+        for (String segment : EndpointSegmentTrie.splitPath(endpoint.getPath())) {
+            if ("**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"))) {
+                // Matches the rest of the path, so nothing after it can be reached
+                node.catchAllEndpoints.add(endpoint);
+                return;
+            }
+            node = node.getOrCreateChild(segment);
+        }
+        node.endpoints.add(endpoint);
+    }
+
+    // Endpoints of the most specific pattern matching the path; a null httpMethod accepts every verb
+    List<Endpoint> match(String path, String httpMethod) {
+        List<String> segments = EndpointSegmentTrie.splitPath(path);
+        List<Endpoint> result = root.match(segments, 0, httpMethod);
+        return result != null ? result : Collections.emptyList();
+    }
+
+    private static List<Endpoint> filter(List<Endpoint> endpoints, String httpMethod) {
+        if (endpoints.isEmpty()) {
+            return null;
+        }
+        if (httpMethod == null) {
+            return endpoints;
+        }
+        List<Endpoint> result = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (httpMethod.equals(endpoint.getHttpMethod())) {
+                result.add(endpoint);
+            }
+        }
+        return result.isEmpty() ? null : result;
+    }
+
+    // "{id}.json" or "file_*" style segments become a single regular expression
+    static Pattern compileSegment(String segment) {
+        try {
+            return Pattern.compile(toRegex(segment, true));
+        } catch (PatternSyntaxException e) {
+            // A half-typed constraint such as "{id:[0-9" (the index also sees unsaved editors) matches like {id}
+            return Pattern.compile(toRegex(segment, false));
+        }
+    }
+
+    private static String toRegex(String segment, boolean keepConstraints) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i);
+            int end = c == '{' ? findClosingBrace(segment, i) : -1;
+            if (end != -1) {
+                String variable = segment.substring(i + 1, end);
+                int colon = variable.indexOf(':');
+                regex.append('(').append(colon != -1 && keepConstraints ? variable.substring(colon + 1) : "[^/]+?")
+                        .append(')');
+                i = end + 1;
+            } else if (c == '{') {
+                // An unclosed brace, as in a half-typed "/orders/{", is matched literally
+                regex.append(Pattern.quote("{"));
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+                i++;
+            } else if (c == '?') {
+                regex.append("[^/]");
+                i++;
+            } else {
+                int next = i;
+                while (next < segment.length() && "{*?".indexOf(segment.charAt(next)) == -1) {
+                    next++;
+                }
+                regex.append(Pattern.quote(segment.substring(i, next)));
+                i = next;
+            }
+        }
+        return regex.toString();
+    }
+
+    private static int findClosingBrace(String segment, int open) {
+        int depth = 0;
+        for (int i = open; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isPlainVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}") && segment.indexOf(':') == -1 &&
+                segment.indexOf('{', 1) == -1;
+    }
+
+    private static class Node {
+        final Map<String, Node> literalChildren = new HashMap<>();
+        final Map<String, PatternChild> patternChildren = new LinkedHashMap<>();
+        Node variableChild;
+        final List<Endpoint> endpoints = new ArrayList<>(1);
+        final List<Endpoint> catchAllEndpoints = new ArrayList<>(0);
+
+        Node getOrCreateChild(String segment) {
+            if (isPlainVariable(segment) || "*".equals(segment)) {
+                if (variableChild == null) {
+                    variableChild = new Node();
+                }
+                return variableChild;
+            }
+            if (segment.indexOf('{') == -1 && segment.indexOf('*') == -1 && segment.indexOf('?') == -1) {
+                return literalChildren.computeIfAbsent(segment, key -> new Node());
+            }
+            return patternChildren.computeIfAbsent(segment, key -> new PatternChild(compileSegment(key))).node;
+        }
+
+        // Literal branches win over constrained patterns, which win over plain variables, then catch-alls
+        List<Endpoint> match(List<String> segments, int index, String httpMethod) {
+            if (index == segments.size()) {
+                List<Endpoint> result = filter(endpoints, httpMethod);
+                return result != null ? result : filter(catchAllEndpoints, httpMethod);
+            }
+
+            String segment = segments.get(index);
+            Node literal = literalChildren.get(segment);
+            if (literal != null) {
+                List<Endpoint> result = literal.match(segments, index + 1, httpMethod);
+                if (result != null) {
+                    return result;
+                }
+            }
+            for (PatternChild child : patternChildren.values()) {
+                if (child.pattern.matcher(segment).matches()) {
+                    List<Endpoint> result = child.node.match(segments, index + 1, httpMethod);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+            }
+            if (variableChild != null) {
+                List<Endpoint> result = variableChild.match(segments, index + 1, httpMethod);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return filter(catchAllEndpoints, httpMethod);
+        }
+    }
+
+    private static class PatternChild {
+        final Pattern pattern;
+        final Node node = new Node();
+
+        PatternChild(Pattern pattern) {
+            this.pattern = pattern;
+        }
+    }
+}
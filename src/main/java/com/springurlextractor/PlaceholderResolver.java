@@ -0,0 +1,123 @@
+package com.springurlextractor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Resolves ${key} and ${key:default} placeholders against raw config values, remembering every resolved key
+final class PlaceholderResolver {
+    private static final String PREFIX = "${";
+    private static final String SUFFIX = "}";
+
+    private final Function<String, String> rawValues;
+    private final Map<String, Optional<String>> resolvedValues = new ConcurrentHashMap<>();
+
+    PlaceholderResolver(Function<String, String> rawValues) {
+        this.rawValues = rawValues;
+    }
+
+    String get(String key) {
+        return resolveKey(key, new Resolution());
+    }
+
+    private String resolveKey(String key, Resolution resolution) {
+        Optional<String> cached = resolvedValues.get(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        // A key that refers back to itself is left unresolved
+        if (!resolution.visiting.add(key)) {
+            resolution.cycleHit = true;
+            return null;
+        }
+        boolean outerCycleHit = resolution.cycleHit;
+        resolution.cycleHit = false;
+        String raw = rawValues.apply(key);
+        String resolved = raw != null ? resolveValue(raw, resolution) : null;
+        resolution.visiting.remove(key);
+
+        // What a key in a cycle resolves to depends on where the cycle was entered, so it is not remembered
+        if (!resolution.cycleHit) {
+            resolvedValues.put(key, Optional.ofNullable(resolved));
+        }
+        resolution.cycleHit |= outerCycleHit;
+        return resolved;
+    }
+
+    private String resolveValue(String value, Resolution resolution) {
+        int start = value.indexOf(PREFIX);
+        if (start == -1) {
+            return value;
+        }
+
+        StringBuilder result = new StringBuilder(value.length());
+        int pos = 0;
+        while (start != -1) {
+            int end = findPlaceholderEnd(value, start + PREFIX.length());
+            if (end == -1) {
+                break;
+            }
+            result.append(value, pos, start);
+
+            String placeholder = value.substring(start + PREFIX.length(), end);
+            String replacement = resolvePlaceholder(placeholder, resolution);
+            result.append(replacement != null ? replacement : value.substring(start, end + SUFFIX.length()));
+
+            pos = end + SUFFIX.length();
+            start = value.indexOf(PREFIX, pos);
+        }
+        result.append(value, pos, value.length());
+        return result.toString();
+    }
+
+    // "key" or "key:default", where both parts may contain nested placeholders
+    private String resolvePlaceholder(String placeholder, Resolution resolution) {
+        int separator = findDefaultSeparator(placeholder);
+        String key = resolveValue(separator != -1 ? placeholder.substring(0, separator) : placeholder, resolution);
+        String defaultValue = separator != -1 ? placeholder.substring(separator + 1) : null;
+
+        String value = resolveKey(key.trim(), resolution);
+        if (value == null && defaultValue != null) {
+            value = resolveValue(defaultValue, resolution);
+        }
+        return value;
+    }
+
+    private static int findPlaceholderEnd(String value, int from) {
+        int depth = 0;
+        for (int i = from; i < value.length(); i++) {
+            if (value.startsWith(PREFIX, i)) {
+                depth++;
+                i += PREFIX.length() - 1;
+            } else if (value.startsWith(SUFFIX, i)) {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    private static int findDefaultSeparator(String placeholder) {
+        int depth = 0;
+        for (int i = 0; i < placeholder.length(); i++) {
+            if (placeholder.startsWith(PREFIX, i)) {
+                depth++;
+                i += PREFIX.length() - 1;
+            } else if (placeholder.startsWith(SUFFIX, i)) {
+                depth--;
+            } else if (placeholder.charAt(i) == ':' && depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Resolution {
+        final Set<String> visiting = new HashSet<>();
+        // Whether a key currently being resolved was met again since the innermost resolveKey started
+        boolean cycleHit;
+    }
+}
@@ -0,0 +1,143 @@
+package com.springurlextractor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class PropertiesConfigReader {
+    private PropertiesConfigReader() {
+    }
+
+    // Streaming reader following java.util.Properties rules for separators, continuations and escapes.
+    // A "#---" line starts a new document, as in Spring Boot multi-document properties files.
+    static List<Map<String, String>> parse(CharSequence text) {
+        List<Map<String, String>> documents = new ArrayList<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        documents.add(properties);
+        StringBuilder key = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+
+        int length = text.length();
+        int pos = 0;
+        while (pos < length) {
+            pos = skipWhitespace(text, pos, length);
+            if (pos >= length) {
+                break;
+            }
+
+            char first = text.charAt(pos);
+            if (first == '\n' || first == '\r') {
+                pos++;
+                continue;
+            }
+            if (first == '#' || first == '!') {
+                int lineEnd = skipLine(text, pos, length);
+                if (lineEnd - pos == 4 && text.charAt(pos + 1) == '-' && text.charAt(pos + 2) == '-' &&
+                        text.charAt(pos + 3) == '-' && !properties.isEmpty()) {
+                    properties = new LinkedHashMap<>();
+                    documents.add(properties);
+                }
+                pos = lineEnd;
+                continue;
+            }
+
+            key.setLength(0);
+            value.setLength(0);
+
+            // Key ends at the first unescaped '=', ':' or whitespace
+            pos = readToken(text, pos, length, key, true);
+
+            // Separator: whitespace, then at most one '=' or ':', then whitespace
+            pos = skipWhitespace(text, pos, length);
+            if (pos < length && (text.charAt(pos) == '=' || text.charAt(pos) == ':')) {
+                pos = skipWhitespace(text, pos + 1, length);
+            }
+
+            pos = readToken(text, pos, length, value, false);
+            properties.put(key.toString(), value.toString().trim());
+        }
+        return documents;
+    }
+
+    private static int readToken(CharSequence text, int pos, int length, StringBuilder out, boolean isKey) {
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c == '\n' || c == '\r') {
+                return pos;
+            }
+            if (isKey && (c == '=' || c == ':' || c == ' ' || c == '\t' || c == '\f')) {
+                return pos;
+            }
+            if (c != '\\') {
+                out.append(c);
+                pos++;
+                continue;
+            }
+
+            pos++;
+            if (pos >= length) {
+                return pos;
+            }
+            char escaped = text.charAt(pos);
+            if (escaped == '\r' || escaped == '\n') {
+                // Line continuation: drop the line break and the next line's leading whitespace
+                pos++;
+                if (escaped == '\r' && pos < length && text.charAt(pos) == '\n') {
+                    pos++;
+                }
+                pos = skipWhitespace(text, pos, length);
+                continue;
+            }
+
+            pos++;
+            switch (escaped) {
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'u':
+                    if (pos + 4 <= length) {
+                        try {
+                            out.append((char) Integer.parseInt(text.subSequence(pos, pos + 4).toString(), 16));
+                            pos += 4;
+                        } catch (NumberFormatException e) {
+                            out.append('u');
+                        }
+                    } else {
+                        out.append('u');
+                    }
+                    break;
+                default:
+                    out.append(escaped);
+            }
+        }
+        return pos;
+    }
+
+    private static int skipWhitespace(CharSequence text, int pos, int length) {
+        while (pos < length) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\f') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipLine(CharSequence text, int pos, int length) {
+        while (pos < length && text.charAt(pos) != '\n' && text.charAt(pos) != '\r') {
+            pos++;
+        }
+        return pos;
+    }
+}
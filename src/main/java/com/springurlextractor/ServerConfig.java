@@ -0,0 +1,42 @@
+package com.springurlextractor;
+
+public final class ServerConfig {
+    private final String host;
+    private final String port;
+    private final String protocol;
+    private final String contextPath;
+
+    public ServerConfig(String host, String port, String protocol, String contextPath) {
+        // Default values
+        this.host = host == null || host.isEmpty() ? "localhost" : host;
+        this.port = port == null || port.isEmpty() ? "8080" : port;
+        this.protocol = protocol == null || protocol.isEmpty() ? "http" : protocol;
+        this.contextPath = contextPath;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String getPort() {
+        return port;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    public String getServerUrl() {
+        // Don't include port if it's default for the protocol
+        if (("http".equals(protocol) && "80".equals(port)) ||
+                ("https".equals(protocol) && "443".equals(port))) {
+            return protocol + "://" + host;
+        }
+
+        return protocol + "://" + host + ":" + port;
+    }
+}
@@ -0,0 +1,175 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleFileIndex;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.PathUtil;
+import com.intellij.util.indexing.DumbModeAccessType;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+@Service(Service.Level.PROJECT)
+public final class ServerConfigService implements Disposable {
+    private final Project project;
+    private final SimpleModificationTracker configTracker = new SimpleModificationTracker();
+    private final CachedValue<LayeredConfig> layeredConfig;
+
+    private static final Key<CachedValue<LayeredConfig>> MODULE_CONFIG_KEY =
+            Key.create("springurlextractor.moduleLayeredConfig");
+
+    private static final List<String> CONFIG_FILE_EXTENSIONS = List.of(".properties", ".yml", ".yaml");
+
+    public ServerConfigService(Project project) {
+        this.project = project;
+        this.layeredConfig = CachedValuesManager.getManager(project).createCachedValue(
+                () -> CachedValueProvider.Result.create(computeLayeredConfig(null), configTracker,
+                        DumbService.getInstance(project).getModificationTracker()), false);
+
+        // Drop the snapshot only when a Spring config file is created, changed, moved or deleted
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    if (isConfigFileEvent(event)) {
+                        configTracker.incModificationCount();
+                        return;
+                    }
+                }
+            }
+        });
+
+        // Unsaved edits count too: the index and the dumb-mode reader both see the editor's text
+        EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(@NotNull DocumentEvent event) {
+                VirtualFile file = FileDocumentManager.getInstance().getFile(event.getDocument());
+                if (file != null && isConfigFileName(file.getName())) {
+                    configTracker.incModificationCount();
+                }
+            }
+        }, this);
+    }
+
+    public static ServerConfigService getInstance(Project project) {
+        return project.getService(ServerConfigService.class);
+    }
+
+    // Server config for the profiles named by spring.profiles.active
+    public ServerConfig getServerConfig() {
+        LayeredConfig config = layeredConfig.getValue();
+        return config.getServerConfig(config.getActiveProfiles());
+    }
+
+    // Switching profiles reuses the already parsed layers
+    public ServerConfig getServerConfig(List<String> activeProfiles) {
+        return layeredConfig.getValue().getServerConfig(activeProfiles);
+    }
+
+    // Server config seen from the module's runtime classpath: its own config files first, then its dependencies'
+    public ServerConfig getServerConfig(Module module) {
+        LayeredConfig config = CachedValuesManager.getManager(project).getCachedValue(module, MODULE_CONFIG_KEY,
+                () -> CachedValueProvider.Result.create(computeLayeredConfig(module), configTracker,
+                        DumbService.getInstance(project).getModificationTracker(),
+                        ProjectRootManager.getInstance(project)), false);
+        return config.getServerConfig(config.getActiveProfiles());
+    }
+
+    // Config of the module owning the element, or the project-wide config for elements outside any module
+    public ServerConfig getServerConfig(PsiElement element) {
+        Module module = ModuleUtilCore.findModuleForPsiElement(element);
+        return module != null ? getServerConfig(module) : getServerConfig();
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    static boolean isConfigFileName(String fileName) {
+        return ConfigLayer.getFileProfile(fileName) != null;
+    }
+
+    private static boolean isConfigFileEvent(VFileEvent event) {
+        if (isConfigFileName(PathUtil.getFileName(event.getPath()))) {
+            return true;
+        }
+        if (event instanceof VFilePropertyChangeEvent) {
+            VFilePropertyChangeEvent propertyEvent = (VFilePropertyChangeEvent) event;
+            if (VirtualFile.PROP_NAME.equals(propertyEvent.getPropertyName())) {
+                Object newName = propertyEvent.getNewValue();
+                return newName instanceof String && isConfigFileName((String) newName);
+            }
+        }
+        return false;
+    }
+
+    private LayeredConfig computeLayeredConfig(Module module) {
+        boolean dumb = DumbService.isDumb(project);
+        GlobalSearchScope scope = module != null
+                ? module.getModuleRuntimeScope(false).intersectWith(GlobalSearchScope.projectScope(project))
+                : GlobalSearchScope.projectScope(project);
+        // Profile layers are only looked up once a profile is actually requested
+        return new LayeredConfig(loadLayers("", dumb, scope, module),
+                profile -> loadLayers(profile, dumb, scope, module));
+    }
+
+    // Layers of one profile, highest precedence first: the module's own files win over its dependencies',
+    // and .properties files win over YAML files
+    private List<ConfigLayer> loadLayers(String profile, boolean dumb, GlobalSearchScope scope, Module module) {
+        List<Pair<VirtualFile, ConfigLayer>> layers = new ArrayList<>();
+        if (!dumb) {
+            FileBasedIndex.getInstance().processValues(ServerPropertiesIndex.NAME, profile, null, (file, layer) -> {
+                layers.add(Pair.create(file, layer));
+                return true;
+            }, scope);
+        } else {
+            // Fallback while indexes are not ready: parse the files directly
+            String baseName = profile.isEmpty() ? "application" : "application-" + profile;
+            for (String extension : CONFIG_FILE_EXTENSIONS) {
+                Collection<VirtualFile> files = FileBasedIndex.getInstance().ignoreDumbMode(
+                        DumbModeAccessType.RELIABLE_DATA_ONLY,
+                        () -> FilenameIndex.getVirtualFilesByName(baseName + extension, scope));
+
+                for (VirtualFile file : files) {
+                    layers.add(Pair.create(file, ConfigLayer.load(file)));
+                }
+            }
+        }
+
+        ModuleFileIndex moduleFileIndex = module != null ? ModuleRootManager.getInstance(module).getFileIndex() : null;
+        layers.sort(Comparator.<Pair<VirtualFile, ConfigLayer>, Boolean>comparing(
+                        pair -> moduleFileIndex != null && !moduleFileIndex.isInContent(pair.first))
+                .thenComparing(pair -> !pair.second.propertiesFormat));
+
+        List<ConfigLayer> result = new ArrayList<>(layers.size());
+        for (Pair<VirtualFile, ConfigLayer> pair : layers) {
+            result.add(pair.second);
+        }
+        return result;
+    }
+}
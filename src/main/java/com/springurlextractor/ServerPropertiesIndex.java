@@ -0,0 +1,53 @@
+package com.springurlextractor;
+
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+// Maps the profile of each application[-profile] config file ("" for the base file) to its parsed layer.
+// Every key is kept, since ${...} placeholders in server properties may refer to any of them.
+public final class ServerPropertiesIndex extends FileBasedIndexExtension<String, ConfigLayer> {
+    public static final ID<String, ConfigLayer> NAME = ID.create("com.springurlextractor.ServerPropertiesIndex");
+
+    @Override
+    public @NotNull ID<String, ConfigLayer> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, ConfigLayer, FileContent> getIndexer() {
+        return inputData -> {
+            ConfigLayer layer = ConfigLayer.parse(inputData.getFileName(), inputData.getContentAsText());
+            return Map.of(layer.profile, layer);
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<ConfigLayer> getValueExternalizer() {
+        return ConfigLayer.EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return file -> ServerConfigService.isConfigFileName(file.getName());
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
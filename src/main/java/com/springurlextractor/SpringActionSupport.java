@@ -0,0 +1,174 @@
+package com.springurlextractor;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+final class SpringActionSupport {
+    static final String NOTIFICATION_GROUP = "Spring URL Extractor";
+    private static final Set<String> CONTROLLER_ANNOTATIONS = Set.of("Controller", "RestController", "RequestMapping");
+
+    private SpringActionSupport() {
+    }
+
+    // Resolves the method at the caret and runs the computation in a cancellable background read action.
+    // The result is handed to onResult on the UI thread; a null or empty result means no mapping was found.
+    static <T> void computeForCaretMethod(AnActionEvent e, String progressTitle,
+                                          Function<PsiMethod, T> computation,
+                                          BiConsumer<Project, T> onResult) {
+        Project project = e.getProject();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+
+        if (project == null || editor == null || psiFile == null) {
+            return;
+        }
+
+        int offset = editor.getCaretModel().getOffset();
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, progressTitle, true) {
+            private boolean methodFound;
+            private T result;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                ReadAction.nonBlocking(() -> {
+                            // Kotlin methods come as UMethod, which the extractors read through UAST
+                            PsiMethod method = UastMappingSupport.isSupported(psiFile)
+                                    ? UastMappingSupport.findMappedMethod(psiFile, offset)
+                                    : PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), PsiMethod.class);
+                            methodFound = method != null;
+                            result = method != null ? computation.apply(method) : null;
+                        })
+                        .inSmartMode(project)
+                        .wrapProgress(indicator)
+                        .executeSynchronously();
+            }
+
+            @Override
+            public void onSuccess() {
+                if (!methodFound) {
+                    SpringActionSupport.notify(project, "No Method Found",
+                            "Please place cursor inside a controller method", NotificationType.INFORMATION);
+                    return;
+                }
+                onResult.accept(project, result);
+            }
+        });
+    }
+
+    // Enables an editor action only when the caret sits in a method that may be mapped. This runs on every menu update,
+    // so it only compares annotation names against cached sets; whether the mapping really resolves is left to
+    // actionPerformed.
+    static void updateForCaretMethod(AnActionEvent e) {
+        Project project = e.getProject();
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+
+        boolean enabled = false;
+        if (project != null && editor != null && psiFile != null) {
+            int offset = editor.getCaretModel().getOffset();
+            if (psiFile instanceof PsiJavaFile) {
+                enabled = isInMappedMethod(psiFile, offset);
+            } else if (UastMappingSupport.isSupported(psiFile)) {
+                enabled = UastMappingSupport.findMappedMethod(psiFile, offset) != null;
+            }
+        }
+        e.getPresentation().setEnabledAndVisible(enabled);
+    }
+
+    private static boolean isInMappedMethod(PsiFile psiFile, int offset) {
+        Set<String> composedNames = MappingAnnotationResolver.getComposedMappingNames(psiFile.getProject());
+        for (AnnotatedMethod method : getAnnotatedMethods(psiFile)) {
+            if (method.start <= offset && offset <= method.end && method.isMapped(composedNames)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Ranges and annotation names of every annotated method in the file, computed once per change of the file
+    private static List<AnnotatedMethod> getAnnotatedMethods(PsiFile psiFile) {
+        return CachedValuesManager.getCachedValue(psiFile, () -> {
+            List<AnnotatedMethod> methods = new ArrayList<>();
+            for (PsiClass psiClass : ((PsiClassOwner) psiFile).getClasses()) {
+                collectAnnotatedMethods(psiClass, methods);
+            }
+            return CachedValueProvider.Result.create(methods, psiFile);
+        });
+    }
+
+    private static void collectAnnotatedMethods(PsiClass psiClass, List<AnnotatedMethod> methods) {
+        boolean controller = false;
+        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
+            controller |= CONTROLLER_ANNOTATIONS.contains(SpringUrlExtractor.getAnnotationShortName(annotation));
+        }
+        for (PsiMethod method : psiClass.getMethods()) {
+            PsiAnnotation[] annotations = method.getModifierList().getAnnotations();
+            if (annotations.length == 0) {
+                continue;
+            }
+            Set<String> names = new HashSet<>();
+            for (PsiAnnotation annotation : annotations) {
+                names.add(SpringUrlExtractor.getAnnotationShortName(annotation));
+            }
+            TextRange range = method.getTextRange();
+            methods.add(new AnnotatedMethod(range.getStartOffset(), range.getEndOffset(), names, controller));
+        }
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            collectAnnotatedMethods(innerClass, methods);
+        }
+    }
+
+    static void notify(Project project, String title, String content, NotificationType type) {
+        NotificationGroupManager.getInstance()
+                .getNotificationGroup(NOTIFICATION_GROUP)
+                .createNotification(title, content, type)
+                .notify(project);
+    }
+
+    private static final class AnnotatedMethod {
+        final int start;
+        final int end;
+        final Set<String> annotationNames;
+        final boolean inController;
+
+        AnnotatedMethod(int start, int end, Set<String> annotationNames, boolean inController) {
+            this.start = start;
+            this.end = end;
+            this.annotationNames = annotationNames;
+            this.inController = inController;
+        }
+
+        boolean isMapped(Set<String> composedNames) {
+            for (String name : annotationNames) {
+                if (SpringUrlExtractor.isMappingAnnotationName(name) || composedNames.contains(name)) {
+                    return true;
+                }
+            }
+            // Mappings inherited from an interface or base controller are supported (see InheritedMappingResolver),
+            // and the overriding handler of a controller is expected to say @Override
+            return inController && annotationNames.contains("Override");
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package com.springurlextractor;
 
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.psi.*;
-import com.intellij.psi.search.FilenameIndex;
-import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.uast.UMethod;
+import org.jetbrains.uast.UastUtils;
 
-import java.io.IOException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class SpringUrlExtractor {
     private final Project project;
-    private final Set<String> MAPPING_ANNOTATIONS = Set.of(
+    private static final Set<String> MAPPING_ANNOTATIONS = Set.of(
             "RequestMapping", "GetMapping", "PostMapping", "PutMapping",
             "DeleteMapping", "PatchMapping"
     );
@@ -22,335 +24,266 @@ public class SpringUrlExtractor {
         this.project = project;
     }
 
-    public String extractUrl(PsiMethod method) {
-        String contextPath = getContextPath();
-        String controllerPath = getControllerBasePath(method.getContainingClass());
-        String methodPath = getMethodPath(method);
-
-        if (methodPath == null) {
-            return null;
+    // One URL per combination of class and method paths, e.g. @RequestMapping({"/v1/users", "/v2/users"})
+    // with @GetMapping({"", "/"}) gives four; empty when the method has no mapping, either declared or inherited
+    public List<String> extractUrl(PsiMethod method) {
+        if (method instanceof UMethod) {
+            return extractUrl((UMethod) method);
         }
-
-        String fullPath = buildFullPath(contextPath, controllerPath, methodPath);
-        String serverUrl = getServerUrl();
-
-        return serverUrl + fullPath;
-    }
-
-    private String getContextPath() {
-        // Try YAML files first
-        String contextPath = getContextPathFromYaml();
-        if (contextPath != null) {
-            return contextPath;
+        PsiMethod mappingSource = InheritedMappingResolver.findMappingSource(method);
+        List<String> methodPaths = mappingSource != null ? resolveMethodPaths(mappingSource) : null;
+        if (methodPaths == null) {
+            return Collections.emptyList();
         }
-
-        // Fall back to properties files
-        return getContextPathFromProperties();
+        return buildUrls(method, getControllerBasePaths(method.getContainingClass()), methodPaths);
     }
 
-    private String getServerUrl() {
-        String host = getServerHost();
-        String port = getServerPort();
-        String protocol = getServerProtocol();
-
-        // Default values
-        if (host == null || host.isEmpty()) {
-            host = "localhost";
-        }
-        if (port == null || port.isEmpty()) {
-            port = "8080";
-        }
-        if (protocol == null || protocol.isEmpty()) {
-            protocol = "http";
+    // Kotlin controllers, read through UAST; see UastMappingSupport
+    public List<String> extractUrl(UMethod method) {
+        List<String> methodPaths = UastMappingSupport.getMethodPaths(method);
+        if (methodPaths == null) {
+            return Collections.emptyList();
         }
-
-        // Don't include port if it's default for the protocol
-        if (("http".equals(protocol) && "80".equals(port)) ||
-                ("https".equals(protocol) && "443".equals(port))) {
-            return protocol + "://" + host;
-        }
-
-        return protocol + "://" + host + ":" + port;
+        PsiElement context = method.getSourcePsi() != null ? method.getSourcePsi() : method.getJavaPsi();
+        return buildUrls(context, UastMappingSupport.getClassPaths(UastUtils.getContainingUClass(method)), methodPaths);
     }
 
-    private String getServerHost() {
-        // Try YAML first
-        String host = getServerPropertyFromYaml("address");
-        if (host != null) {
-            return host;
+    private List<String> buildUrls(PsiElement context, List<String> controllerPaths, List<String> methodPaths) {
+        ServerConfig serverConfig = ServerConfigService.getInstance(project).getServerConfig(context);
+        String contextPath = serverConfig.getContextPath();
+        String serverUrl = serverConfig.getServerUrl();
+        Set<String> urls = new LinkedHashSet<>();
+        for (String controllerPath : controllerPaths) {
+            for (String methodPath : methodPaths) {
+                urls.add(serverUrl + buildFullPath(contextPath, controllerPath, methodPath));
+            }
         }
-
-        // Try properties
-        host = getServerPropertyFromProperties("server.address");
-        return host;
+        return new ArrayList<>(urls);
     }
 
-    private String getServerPort() {
-        // Try YAML first
-        String port = getServerPropertyFromYaml("port");
-        if (port != null) {
-            return port;
-        }
-
-        // Try properties
-        port = getServerPropertyFromProperties("server.port");
-        return port;
+    // The URL extractUrl(PsiMethod) gives for this indexed endpoint, from the cached config and without touching PSI
+    public String extractUrl(Endpoint endpoint) {
+        ServerConfigService configService = ServerConfigService.getInstance(project);
+        Module module = endpoint.getFile() != null
+                ? ProjectFileIndex.getInstance(project).getModuleForFile(endpoint.getFile())
+                : null;
+        ServerConfig serverConfig = module != null
+                ? configService.getServerConfig(module)
+                : configService.getServerConfig();
+        String path = "/".equals(endpoint.getPath()) ? null : endpoint.getPath();
+        return serverConfig.getServerUrl() + buildFullPath(serverConfig.getContextPath(), null, path);
     }
 
-    private String getServerProtocol() {
-        // Check for SSL configuration
-        String sslEnabled = getServerPropertyFromYaml("ssl", "enabled");
-        if (sslEnabled == null) {
-            sslEnabled = getServerPropertyFromProperties("server.ssl.enabled");
+    // Also inherited from superclasses and interfaces; cached on the class, see InheritedMappingResolver
+    List<String> getControllerBasePaths(PsiClass controllerClass) {
+        if (controllerClass == null) {
+            return Collections.singletonList("");
         }
+        return InheritedMappingResolver.getClassPaths(controllerClass);
+    }
 
-        if ("true".equalsIgnoreCase(sslEnabled)) {
-            return "https";
+    // Without evaluateConstants only the class's own annotation text is read, so it is safe to call while indexing
+    static List<String> computeControllerBasePaths(PsiClass controllerClass, boolean evaluateConstants) {
+        PsiAnnotation annotation = findControllerMappingAnnotation(controllerClass);
+        if (annotation != null) {
+            return extractPathsFromAnnotation(annotation, evaluateConstants);
         }
 
-        return "http";
+        return Collections.singletonList("");
     }
 
-    private String getContextPathFromYaml() {
-        // Search for application.yml files
-        Collection<VirtualFile> yamlFiles = FilenameIndex.getVirtualFilesByName(
-                "application.yml", GlobalSearchScope.projectScope(project));
-
-        if (yamlFiles.isEmpty()) {
-            yamlFiles = FilenameIndex.getVirtualFilesByName(
-                    "application.yaml", GlobalSearchScope.projectScope(project));
+    static PsiAnnotation findControllerMappingAnnotation(PsiClass controllerClass) {
+        for (PsiAnnotation annotation : controllerClass.getAnnotations()) {
+            if ("RequestMapping".equals(getAnnotationShortName(annotation))) {
+                return annotation;
+            }
         }
+        return null;
+    }
 
-        for (VirtualFile file : yamlFiles) {
-            try {
-                String content = new String(file.contentsToByteArray(), file.getCharset());
-                String contextPath = extractContextPathFromYamlText(content);
-                if (contextPath != null) {
-                    return contextPath;
-                }
-            } catch (IOException e) {
-                // Continue to next file
+    // Every path of the method's mapping annotation, or null if it has none
+    private static List<String> getMethodPaths(PsiMethod method, boolean evaluateConstants) {
+        for (PsiAnnotation annotation : method.getAnnotations()) {
+            String annotationName = getAnnotationShortName(annotation);
+            if (MAPPING_ANNOTATIONS.contains(annotationName)) {
+                return extractPathsFromAnnotation(annotation, evaluateConstants);
             }
         }
         return null;
     }
 
-    private String extractContextPathFromYamlText(String yamlContent) {
-        return extractYamlProperty(yamlContent, "server", "servlet", "context-path");
+    // Like getMethodPaths, but also evaluates constant paths and follows composed annotations such as @ApiGet;
+    // needs resolve
+    static List<String> resolveMethodPaths(PsiMethod method) {
+        List<String> methodPaths = getMethodPaths(method, true);
+        if (methodPaths != null) {
+            return methodPaths;
+        }
+        MappingAnnotationResolver.Mapping mapping = MappingAnnotationResolver.findComposedMapping(method);
+        return mapping != null ? mapping.paths : null;
     }
 
-    private String getServerPropertyFromYaml(String... propertyPath) {
-        Collection<VirtualFile> yamlFiles = FilenameIndex.getVirtualFilesByName(
-                "application.yml", GlobalSearchScope.projectScope(project));
+    static boolean isMappedMethod(PsiMethod method) {
+        return findMappingAnnotation(method) != null;
+    }
 
-        if (yamlFiles.isEmpty()) {
-            yamlFiles = FilenameIndex.getVirtualFilesByName(
-                    "application.yaml", GlobalSearchScope.projectScope(project));
-        }
+    // Like isMappedMethod, but also accepts composed annotations such as @ApiGet; needs resolve
+    static boolean isResolvedMappedMethod(PsiMethod method) {
+        return isMappedMethod(method) || MappingAnnotationResolver.findComposedMapping(method) != null;
+    }
 
-        for (VirtualFile file : yamlFiles) {
-            try {
-                String content = new String(file.contentsToByteArray(), file.getCharset());
-                String[] fullPath = new String[propertyPath.length + 1];
-                fullPath[0] = "server";
-                System.arraycopy(propertyPath, 0, fullPath, 1, propertyPath.length);
-                String value = extractYamlProperty(content, fullPath);
-                if (value != null) {
-                    return value;
-                }
-            } catch (IOException e) {
-                // Continue to next file
+    static PsiAnnotation findMappingAnnotation(PsiMethod method) {
+        for (PsiAnnotation annotation : method.getAnnotations()) {
+            if (isMappingAnnotation(annotation)) {
+                return annotation;
             }
         }
         return null;
     }
 
-    private String extractYamlProperty(String yamlContent, String... propertyPath) {
-        String[] lines = yamlContent.split("\n");
-        int[] sectionIndents = new int[propertyPath.length];
-        boolean[] inSections = new boolean[propertyPath.length];
-        Arrays.fill(sectionIndents, -1);
+    static boolean isMappingAnnotation(PsiAnnotation annotation) {
+        return isMappingAnnotationName(getAnnotationShortName(annotation));
+    }
 
-        for (String line : lines) {
-            if (line.trim().isEmpty() || line.trim().startsWith("#")) {
-                continue;
-            }
+    static boolean isMappingAnnotationName(String shortName) {
+        return MAPPING_ANNOTATIONS.contains(shortName);
+    }
 
-            int currentIndent = getIndentLevel(line);
-            String trimmed = line.trim();
-
-            // Check each level of the property path
-            for (int level = 0; level < propertyPath.length; level++) {
-                String expectedKey = propertyPath[level] + ":";
-
-                if (trimmed.equals(expectedKey)) {
-                    // Found this level
-                    inSections[level] = true;
-                    sectionIndents[level] = currentIndent;
-
-                    // Reset deeper levels
-                    for (int i = level + 1; i < propertyPath.length; i++) {
-                        inSections[i] = false;
-                        sectionIndents[i] = -1;
-                    }
-                    break;
-                } else if (inSections[level] && sectionIndents[level] != -1 &&
-                        currentIndent <= sectionIndents[level] && trimmed.contains(":")) {
-                    // We've moved out of this section
-                    for (int i = level; i < propertyPath.length; i++) {
-                        inSections[i] = false;
-                        sectionIndents[i] = -1;
-                    }
-                }
+    // Taken from the reference text rather than resolved, so it works without resolving imports
+    static String getAnnotationShortName(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        String name = reference != null ? reference.getReferenceName() : null;
+        return name != null ? name : "";
+    }
 
-                // Check if we found the final property
-                if (level == propertyPath.length - 1 && inSections[level] &&
-                        trimmed.startsWith(propertyPath[level] + ":")) {
-                    return extractYamlValue(trimmed);
-                }
+    static List<String> extractPathsFromAnnotation(PsiAnnotation annotation, boolean evaluateConstants) {
+        // Try 'value' attribute first
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("value");
+        if (value != null) {
+            List<String> paths = extractStringsFromAnnotationValue(value, evaluateConstants);
+            if (containsNonEmpty(paths)) {
+                return paths;
             }
+        }
 
-            // Handle special case for context-path (can be under server or server.servlet)
-            if (propertyPath.length >= 2 && "context-path".equals(propertyPath[propertyPath.length - 1])) {
-                if (trimmed.startsWith("context-path:")) {
-                    // Check if we're in server section (with or without servlet)
-                    if (inSections[0]) { // in server section
-                        return extractYamlValue(trimmed);
-                    }
-                }
-            }
+        // Try 'path' attribute
+        PsiAnnotationMemberValue path = annotation.findDeclaredAttributeValue("path");
+        if (path != null) {
+            return extractStringsFromAnnotationValue(path, evaluateConstants);
         }
-        return null;
+
+        return Collections.singletonList("");
     }
 
-    private int getIndentLevel(String line) {
-        int indent = 0;
-        for (char c : line.toCharArray()) {
-            if (c == ' ') {
-                indent++;
-            } else if (c == '\t') {
-                indent += 4; // Treat tab as 4 spaces
-            } else {
-                break;
+    // Whether a path of the annotation refers to constants, which only evaluateConstants can read
+    static boolean hasConstantPath(PsiAnnotation annotation) {
+        for (String attributeName : new String[]{"value", "path"}) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attributeName);
+            PsiAnnotationMemberValue[] elements = value instanceof PsiArrayInitializerMemberValue
+                    ? ((PsiArrayInitializerMemberValue) value).getInitializers()
+                    : new PsiAnnotationMemberValue[]{value};
+            for (PsiAnnotationMemberValue element : elements) {
+                if (element != null && extractLiteralString(element) == null) {
+                    return true;
+                }
             }
         }
-        return indent;
+        return false;
     }
 
-    private String extractYamlValue(String line) {
-        int colonIndex = line.indexOf(":");
-        if (colonIndex != -1 && colonIndex < line.length() - 1) {
-            String value = line.substring(colonIndex + 1).trim();
-            // Remove quotes
-            if ((value.startsWith("\"") && value.endsWith("\"")) ||
-                    (value.startsWith("'") && value.endsWith("'"))) {
-                value = value.substring(1, value.length() - 1);
+    // Source text of the conditions narrowing a mapping beyond verb and path, e.g. "produces=MediaType.TEXT_PLAIN";
+    // "" if there are none. Text is enough to tell mappings apart, and needs no resolve.
+    static String getMappingConditions(PsiAnnotation annotation) {
+        StringBuilder conditions = new StringBuilder();
+        for (String attributeName : new String[]{"produces", "consumes", "params", "headers"}) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attributeName);
+            if (value != null) {
+                if (conditions.length() > 0) {
+                    conditions.append(';');
+                }
+                conditions.append(attributeName).append('=').append(value.getText().replaceAll("\\s+", ""));
             }
-            return value;
         }
-        return null;
+        return conditions.toString();
     }
 
-    private String getServerPropertyFromProperties(String propertyName) {
-        Collection<VirtualFile> propFiles = FilenameIndex.getVirtualFilesByName(
-                "application.properties", GlobalSearchScope.projectScope(project));
+    static String extractStringFromAnnotationValue(PsiAnnotationMemberValue value, boolean evaluateConstants) {
+        return extractStringsFromAnnotationValue(value, evaluateConstants).get(0);
+    }
 
-        for (VirtualFile file : propFiles) {
-            try {
-                String content = new String(file.contentsToByteArray(), file.getCharset());
-                String value = extractPropertyFromPropertiesContent(content, propertyName);
-                if (value != null) {
-                    return value;
-                }
-            } catch (IOException e) {
-                // Continue to next file
+    // Every element of an array value, in declaration order; never empty
+    static List<String> extractStringsFromAnnotationValue(PsiAnnotationMemberValue value, boolean evaluateConstants) {
+        if (value instanceof PsiArrayInitializerMemberValue) {
+            PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
+            if (initializers.length == 0) {
+                return Collections.singletonList("");
             }
+            List<String> strings = new ArrayList<>(initializers.length);
+            for (PsiAnnotationMemberValue initializer : initializers) {
+                strings.add(extractString(initializer, evaluateConstants));
+            }
+            return strings;
         }
-        return null;
+        return Collections.singletonList(extractString(value, evaluateConstants));
     }
 
-    private String extractPropertyFromPropertiesContent(String content, String propertyName) {
-        Pattern pattern = Pattern.compile("^\\s*" + Pattern.quote(propertyName) + "\\s*=\\s*(.+)$", Pattern.MULTILINE);
-        Matcher matcher = pattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1).trim();
+    private static String extractString(PsiAnnotationMemberValue value, boolean evaluateConstants) {
+        String literal = extractLiteralString(value);
+        if (literal != null) {
+            return literal;
         }
-        return null;
-    }
-
-    private String getContextPathFromProperties() {
-        return getServerPropertyFromProperties("server.servlet.context-path") != null ?
-                getServerPropertyFromProperties("server.servlet.context-path") :
-                getServerPropertyFromProperties("server.context-path");
+        return evaluateConstants && value instanceof PsiExpression ? evaluateConstant((PsiExpression) value) : "";
     }
 
-    private String getControllerBasePath(PsiClass controllerClass) {
-        if (controllerClass == null) {
-            return "";
+    // A literal, or a concatenation of literals such as "/orders" + "/{id}"; null for anything needing resolve
+    private static String extractLiteralString(PsiAnnotationMemberValue value) {
+        if (value instanceof PsiLiteralExpression) {
+            Object literalValue = ((PsiLiteralExpression) value).getValue();
+            return literalValue != null ? literalValue.toString() : "";
         }
-
-        for (PsiAnnotation annotation : controllerClass.getAnnotations()) {
-            String shortName = getAnnotationShortName(annotation);
-            if ("RequestMapping".equals(shortName)) {
-                return extractPathFromAnnotation(annotation);
+        if (value instanceof PsiPolyadicExpression &&
+                ((PsiPolyadicExpression) value).getOperationTokenType() == JavaTokenType.PLUS) {
+            StringBuilder result = new StringBuilder();
+            for (PsiExpression operand : ((PsiPolyadicExpression) value).getOperands()) {
+                String operandValue = extractLiteralString(operand);
+                if (operandValue == null) {
+                    return null;
+                }
+                result.append(operandValue);
             }
+            return result.toString();
         }
-
-        return "";
-    }
-
-    private String getMethodPath(PsiMethod method) {
-        for (PsiAnnotation annotation : method.getAnnotations()) {
-            String annotationName = getAnnotationShortName(annotation);
-            if (MAPPING_ANNOTATIONS.contains(annotationName)) {
-                return extractPathFromAnnotation(annotation);
-            }
+        if (value instanceof PsiParenthesizedExpression) {
+            return extractLiteralString(((PsiParenthesizedExpression) value).getExpression());
         }
         return null;
     }
 
-    private String getAnnotationShortName(PsiAnnotation annotation) {
-        String qualifiedName = annotation.getQualifiedName();
-        if (qualifiedName == null) {
+    // Value of a compile-time constant such as ApiPaths.ORDERS + "/{id}", cached on the expression until the next
+    // PSI change; "" while indexing, since the referenced fields can't be resolved then
+    private static String evaluateConstant(PsiExpression expression) {
+        Project project = expression.getProject();
+        if (DumbService.isDumb(project)) {
             return "";
         }
-        return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
-    }
-
-    private String extractPathFromAnnotation(PsiAnnotation annotation) {
-        // Try 'value' attribute first
-        PsiAnnotationMemberValue value = annotation.findAttributeValue("value");
-        if (value != null) {
-            String path = extractStringFromAnnotationValue(value);
-            if (path != null && !path.isEmpty()) {
-                return path;
-            }
-        }
-
-        // Try 'path' attribute
-        PsiAnnotationMemberValue path = annotation.findAttributeValue("path");
-        if (path != null) {
-            return extractStringFromAnnotationValue(path);
-        }
-
-        return "";
+        return CachedValuesManager.getCachedValue(expression, () -> {
+            Object value = JavaPsiFacade.getInstance(project).getConstantEvaluationHelper()
+                    .computeConstantExpression(expression);
+            return CachedValueProvider.Result.create(value instanceof String ? (String) value : "",
+                    PsiModificationTracker.MODIFICATION_COUNT);
+        });
     }
 
-    private String extractStringFromAnnotationValue(PsiAnnotationMemberValue value) {
-        if (value instanceof PsiLiteralExpression) {
-            Object literalValue = ((PsiLiteralExpression) value).getValue();
-            return literalValue != null ? literalValue.toString() : "";
-        } else if (value instanceof PsiArrayInitializerMemberValue) {
-            PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
-            if (initializers.length > 0 && initializers[0] instanceof PsiLiteralExpression) {
-                Object literalValue = ((PsiLiteralExpression) initializers[0]).getValue();
-                return literalValue != null ? literalValue.toString() : "";
+    static boolean containsNonEmpty(List<String> strings) {
+        for (String string : strings) {
+            if (!string.isEmpty()) {
+                return true;
             }
         }
-        return "";
+        return false;
     }
 
-    private String buildFullPath(String contextPath, String controllerPath, String methodPath) {
+    static String buildFullPath(String contextPath, String controllerPath, String methodPath) {
         StringBuilder path = new StringBuilder();
 
         // Add context path
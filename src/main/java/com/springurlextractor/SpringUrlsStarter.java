@@ -0,0 +1,157 @@
+package com.springurlextractor;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ex.ApplicationEx;
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Headless endpoint dump for CI: idea springurls <project> [--format json|http|curl|postman] [--output <file>].
+// Endpoints stream to stdout or the output file while they are extracted; phase timings go to stderr.
+public final class SpringUrlsStarter implements ApplicationStarter {
+    private static final Map<String, EndpointExportFormat> FORMATS = Map.of(
+            "json", EndpointExportFormat.JSON,
+            "http", EndpointExportFormat.HTTP_CLIENT,
+            "curl", EndpointExportFormat.SHELL_SCRIPT,
+            "postman", EndpointExportFormat.POSTMAN);
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        // args.get(0) is the command name
+        Path projectPath = null;
+        EndpointExportFormat format = EndpointExportFormat.JSON;
+        Path output = null;
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            if ("--format".equals(arg) && i + 1 < args.size()) {
+                format = FORMATS.get(args.get(++i).toLowerCase(Locale.ROOT));
+                if (format == null) {
+                    exit("Unknown format " + args.get(i) + ", expected one of " + FORMATS.keySet(), 1);
+                    return;
+                }
+            } else if ("--output".equals(arg) && i + 1 < args.size()) {
+                output = Paths.get(args.get(++i)).toAbsolutePath();
+            } else if (projectPath == null && !arg.startsWith("--")) {
+                projectPath = Paths.get(arg).toAbsolutePath().normalize();
+            } else {
+                exit("Unexpected argument " + arg, 1);
+                return;
+            }
+        }
+        if (projectPath == null) {
+            exit("Usage: springurls <project> [--format json|http|curl|postman] [--output <file>]", 1);
+            return;
+        }
+
+        // main runs on the EDT, where waiting for indexing or for extraction batches would assert or freeze,
+        // so the dump runs on a pooled thread that ends the process when done, however the dump itself ends
+        Path path = projectPath;
+        EndpointExportFormat exportFormat = format;
+        Path outputPath = output;
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            int exitCode = 1;
+            try {
+                exitCode = dump(path, exportFormat, outputPath);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            } finally {
+                exit(null, exitCode);
+            }
+        });
+    }
+
+    private static int dump(Path projectPath, EndpointExportFormat format, Path output) {
+        int exitCode = 0;
+        long start = System.nanoTime();
+        Project project = ProjectUtil.openOrImport(projectPath, null, false);
+        if (project == null) {
+            System.err.println("Cannot open project at " + projectPath);
+            return 1;
+        }
+        long opened = logPhase("Open project", start);
+
+        try {
+            DumbService.getInstance(project).waitForSmartMode();
+            long indexed = logPhase("Indexing", opened);
+
+            BulkEndpointExtractor extractor = new BulkEndpointExtractor(project);
+            ProgressIndicator indicator = new EmptyProgressIndicator();
+            List<VirtualFile> files = extractor.collectSourceFiles(
+                    Arrays.asList(ProjectRootManager.getInstance(project).getContentRoots()), indicator);
+            long collected = logPhase("Collect " + files.size() + " source files", indexed);
+
+            int[] count = {0};
+            try (EndpointExportWriter writer = format.createWriter(openOutput(output), project.getName())) {
+                extractor.extract(files, indicator, requests -> {
+                    try {
+                        for (EndpointRequest request : requests) {
+                            writer.write(request);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0] += requests.size();
+                });
+            }
+            logPhase("Extract and write " + count[0] + " endpoints", collected);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Cannot write endpoints: " + e.getMessage());
+            exitCode = 1;
+        } finally {
+            ApplicationManager.getApplication().invokeAndWait(() ->
+                    ProjectManager.getInstance().closeAndDispose(project));
+        }
+        logPhase("Total", start);
+        return exitCode;
+    }
+
+    // The file, or stdout kept open after the writer is closed
+    private static Writer openOutput(Path output) throws IOException {
+        if (output != null) {
+            return Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+        }
+        return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    private static long logPhase(String phase, long since) {
+        long now = System.nanoTime();
+        System.err.printf(Locale.ROOT, "%-40s %8d ms%n", phase, (now - since) / 1_000_000);
+        return now;
+    }
+
+    // Shuts the application down properly, so its disposers and shutdown hooks run, without asking for confirmation
+    private static void exit(String message, int exitCode) {
+        if (message != null) {
+            System.err.println(message);
+        }
+        ApplicationManagerEx.getApplicationEx().exit(ApplicationEx.FORCE_EXIT | ApplicationEx.EXIT_CONFIRMED, exitCode);
+    }
+}
@@ -0,0 +1,171 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.uast.*;
+
+import java.util.*;
+
+// Kotlin controllers, read through UAST because their Java PSI is a synthesized light class. Finding the mapped
+// methods means converting the whole file, so their source PSI is cached on the file until it changes; UAST elements
+// hold on to much more and are not meant to be cached, so they are recreated from it on demand.
+// Java files keep the PSI-based path, which also covers composed and inherited mappings.
+final class UastMappingSupport {
+    private UastMappingSupport() {
+    }
+
+    static boolean isSupported(PsiFile file) {
+        return !(file instanceof PsiJavaFile) && UastFacade.INSTANCE.isFileSupported(file.getName());
+    }
+
+    // Mapped methods of the file in source order; empty in dumb mode, since annotation names need resolving
+    static List<UMethod> getMappedMethods(PsiFile file) {
+        if (DumbService.isDumb(file.getProject())) {
+            return Collections.emptyList();
+        }
+        List<UMethod> methods = new ArrayList<>();
+        for (PsiElement source : getMappedMethodSources(file)) {
+            UMethod method = UastContextKt.toUElement(source, UMethod.class);
+            if (method != null) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private static List<PsiElement> getMappedMethodSources(PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> {
+            List<PsiElement> sources = new ArrayList<>();
+            UFile uFile = UastContextKt.toUElement(file, UFile.class);
+            if (uFile != null) {
+                for (UClass uClass : uFile.getClasses()) {
+                    collectMappedMethodSources(uClass, sources);
+                }
+            }
+            return CachedValueProvider.Result.create(sources, file);
+        });
+    }
+
+    private static void collectMappedMethodSources(UClass uClass, List<PsiElement> sources) {
+        for (UMethod method : uClass.getMethods()) {
+            if (method.getSourcePsi() != null && findMappingAnnotation(method) != null) {
+                sources.add(method.getSourcePsi());
+            }
+        }
+        for (UClass innerClass : uClass.getInnerClasses()) {
+            collectMappedMethodSources(innerClass, sources);
+        }
+    }
+
+    static UMethod findMappedMethod(PsiFile file, int offset) {
+        if (DumbService.isDumb(file.getProject())) {
+            return null;
+        }
+        for (PsiElement source : getMappedMethodSources(file)) {
+            TextRange range = source.getTextRange();
+            if (range != null && range.getStartOffset() <= offset && offset <= range.getEndOffset()) {
+                return UastContextKt.toUElement(source, UMethod.class);
+            }
+        }
+        return null;
+    }
+
+    // Every path of the method's mapping annotation, or null if it has none
+    static List<String> getMethodPaths(UMethod method) {
+        UAnnotation annotation = findMappingAnnotation(method);
+        return annotation != null ? getPaths(annotation) : null;
+    }
+
+    static List<String> getClassPaths(UClass uClass) {
+        UAnnotation annotation = uClass != null ? findAnnotation(uClass, Set.of("RequestMapping")) : null;
+        return annotation != null ? getPaths(annotation) : Collections.singletonList("");
+    }
+
+    static String getHttpMethod(UMethod method) {
+        UAnnotation annotation = findMappingAnnotation(method);
+        if (annotation == null) {
+            return "GET";
+        }
+        UExpression methodValue = annotation.findDeclaredAttributeValue("method");
+        PsiElement methodSource = methodValue != null ? methodValue.getSourcePsi() : null;
+        String httpMethod = CurlGenerator.getHttpMethod(getShortName(annotation),
+                methodSource != null ? methodSource.getText() : null);
+        return httpMethod != null ? httpMethod : "GET";
+    }
+
+    static UAnnotation findMappingAnnotation(UMethod method) {
+        for (UAnnotation annotation : method.getUAnnotations()) {
+            if (SpringUrlExtractor.isMappingAnnotationName(getShortName(annotation))) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    static UAnnotation findAnnotation(UDeclaration declaration, Set<String> shortNames) {
+        for (UAnnotation annotation : declaration.getUAnnotations()) {
+            if (shortNames.contains(getShortName(annotation))) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    static String getShortName(UAnnotation annotation) {
+        String qualifiedName = annotation.getQualifiedName();
+        return qualifiedName != null ? StringUtil.getShortName(qualifiedName) : "";
+    }
+
+    // Value if it contains a non-empty path, else path, as in SpringUrlExtractor.extractPathsFromAnnotation
+    private static List<String> getPaths(UAnnotation annotation) {
+        List<String> paths = getStrings(annotation.findDeclaredAttributeValue("value"));
+        if (paths != null && SpringUrlExtractor.containsNonEmpty(paths)) {
+            return paths;
+        }
+        paths = getStrings(annotation.findDeclaredAttributeValue("path"));
+        return paths != null ? paths : Collections.singletonList("");
+    }
+
+    // Kotlin passes arrays as arrayOf(...), [...] or vararg arguments, all of which are calls in UAST.
+    // Elements are evaluated, so const vals and concatenations work as in Java.
+    private static List<String> getStrings(UExpression value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof UCallExpression) {
+            List<UExpression> arguments = ((UCallExpression) value).getValueArguments();
+            if (arguments.isEmpty()) {
+                return Collections.singletonList("");
+            }
+            List<String> strings = new ArrayList<>(arguments.size());
+            for (UExpression argument : arguments) {
+                strings.add(evaluateString(argument));
+            }
+            return strings;
+        }
+        return Collections.singletonList(evaluateString(value));
+    }
+
+    // First element for an array value, or null if the attribute is not set
+    static String getString(UAnnotation annotation, String attributeName) {
+        List<String> strings = getStrings(annotation.findDeclaredAttributeValue(attributeName));
+        return strings != null ? strings.get(0) : null;
+    }
+
+    static boolean getBoolean(UAnnotation annotation, String attributeName, boolean defaultValue) {
+        UExpression value = annotation.findDeclaredAttributeValue(attributeName);
+        Object result = value != null ? value.evaluate() : null;
+        return result instanceof Boolean ? (Boolean) result : defaultValue;
+    }
+
+    private static String evaluateString(UExpression expression) {
+        Object value = expression.evaluate();
+        return value instanceof String ? (String) value : "";
+    }
+}
@@ -0,0 +1,58 @@
+package com.springurlextractor;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.ProjectActivity;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import kotlin.Unit;
+import kotlin.coroutines.Continuation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+// Resolves server config and controller base paths in the background once indexing is done,
+// so the first URL extraction finds everything cached
+public final class UrlResolutionWarmUpActivity implements ProjectActivity {
+    private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+
+    @Override
+    public @Nullable Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
+        ReadAction.nonBlocking(() -> warmUp(project))
+                .inSmartMode(project)
+                .expireWith(ServerConfigService.getInstance(project))
+                .submit(AppExecutorUtil.getAppExecutorService());
+        return Unit.INSTANCE;
+    }
+
+    private static void warmUp(Project project) {
+        ServerConfigService configService = ServerConfigService.getInstance(project);
+        configService.getServerConfig();
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            ProgressManager.checkCanceled();
+            configService.getServerConfig(module);
+        }
+
+        // Also refreshes EndpointCache, which serves endpoints during the next startup's indexing
+        EndpointService.getInstance(project).getEndpoints();
+
+        PsiClass requestMapping = JavaPsiFacade.getInstance(project)
+                .findClass(REQUEST_MAPPING, GlobalSearchScope.allScope(project));
+        if (requestMapping == null) {
+            return;
+        }
+
+        SpringUrlExtractor extractor = new SpringUrlExtractor(project);
+        AnnotatedElementsSearch.searchPsiClasses(requestMapping, GlobalSearchScope.projectScope(project))
+                .forEach(controllerClass -> {
+                    ProgressManager.checkCanceled();
+                    extractor.getControllerBasePaths(controllerClass);
+                    return true;
+                });
+    }
+}
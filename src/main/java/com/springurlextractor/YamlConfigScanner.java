@@ -0,0 +1,159 @@
+package com.springurlextractor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class YamlConfigScanner {
+    private YamlConfigScanner() {
+    }
+
+    // Flattens every scalar of each "---" document into dotted keys in one pass
+    static List<Map<String, String>> scan(CharSequence text) {
+        List<Map<String, String>> documents = new ArrayList<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        documents.add(properties);
+        List<String> sectionKeys = new ArrayList<>();
+        int[] sectionIndents = new int[8];
+
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = indexOf(text, '\n', lineStart, length);
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int indent = getIndentLevel(text, lineStart, contentEnd);
+            int contentStart = skipIndent(text, lineStart, contentEnd);
+
+            if (contentStart < contentEnd && text.charAt(contentStart) != '#') {
+                if (isDocumentSeparator(text, lineStart, contentEnd)) {
+                    sectionKeys.clear();
+                    if (!properties.isEmpty()) {
+                        properties = new LinkedHashMap<>();
+                        documents.add(properties);
+                    }
+                } else if (text.charAt(contentStart) != '-') {
+                    int colon = findKeySeparator(text, contentStart, contentEnd);
+                    if (colon != -1) {
+                        // We've moved out of every section indented at least as deep as this key
+                        while (!sectionKeys.isEmpty() && sectionIndents[sectionKeys.size() - 1] >= indent) {
+                            sectionKeys.remove(sectionKeys.size() - 1);
+                        }
+
+                        String key = unquote(text, contentStart, trimEnd(text, contentStart, colon));
+                        int valueStart = skipIndent(text, colon + 1, contentEnd);
+                        int valueEnd = trimEnd(text, valueStart, stripComment(text, valueStart, contentEnd));
+
+                        if (valueStart >= valueEnd) {
+                            // Found a section header
+                            if (sectionKeys.size() == sectionIndents.length) {
+                                sectionIndents = Arrays.copyOf(sectionIndents, sectionIndents.length * 2);
+                            }
+                            sectionIndents[sectionKeys.size()] = indent;
+                            sectionKeys.add(key);
+                        } else {
+                            String fullKey = sectionKeys.isEmpty() ? key : String.join(".", sectionKeys) + "." + key;
+                            properties.putIfAbsent(fullKey, unquote(text, valueStart, valueEnd));
+                        }
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return documents;
+    }
+
+    private static boolean isDocumentSeparator(CharSequence text, int start, int end) {
+        return end - start >= 3 && text.charAt(start) == '-' && text.charAt(start + 1) == '-' &&
+                text.charAt(start + 2) == '-' && (end - start == 3 || Character.isWhitespace(text.charAt(start + 3)));
+    }
+
+    // Position of the ':' that ends a mapping key, ignoring colons inside quotes or values like "http://"
+    private static int findKeySeparator(CharSequence text, int start, int end) {
+        char quote = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == ':' && (i + 1 == end || text.charAt(i + 1) == ' ' || text.charAt(i + 1) == '\t')) {
+                return i;
+            } else if (c == '#' && i > start && Character.isWhitespace(text.charAt(i - 1))) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int stripComment(CharSequence text, int start, int end) {
+        char quote = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = i == start ? c : 0;
+            } else if (c == '#' && (i == start || Character.isWhitespace(text.charAt(i - 1)))) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static String unquote(CharSequence text, int start, int end) {
+        // Remove quotes
+        if (end - start >= 2) {
+            char first = text.charAt(start);
+            if ((first == '"' || first == '\'') && text.charAt(end - 1) == first) {
+                return text.subSequence(start + 1, end - 1).toString();
+            }
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    private static int getIndentLevel(CharSequence text, int start, int end) {
+        int indent = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                indent++;
+            } else if (c == '\t') {
+                indent += 4; // Treat tab as 4 spaces
+            } else {
+                break;
+            }
+        }
+        return indent;
+    }
+
+    private static int skipIndent(CharSequence text, int start, int end) {
+        int i = start;
+        while (i < end && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int trimEnd(CharSequence text, int start, int end) {
+        int i = end;
+        while (i > start && Character.isWhitespace(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int indexOf(CharSequence text, char c, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return length;
+    }
+}
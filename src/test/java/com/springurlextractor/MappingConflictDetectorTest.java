@@ -0,0 +1,66 @@
+package com.springurlextractor;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MappingConflictDetectorTest {
+
+    @Test
+    public void sameVerbAndPatternIsDuplicate() {
+        Endpoint get = endpoint("GET", "/orders/{id}", false, "", 1);
+        Endpoint other = endpoint("GET", "/orders/{orderId}", false, "", 2);
+        List<MappingConflictDetector.Conflict> conflicts = new MappingConflictDetector(List.of(get, other))
+                .findConflicts(get);
+
+        assertEquals(1, conflicts.size());
+        assertEquals(MappingConflictDetector.Kind.DUPLICATE, conflicts.get(0).kind);
+    }
+
+    @Test
+    public void differentConditionsDoNotConflict() {
+        Endpoint json = endpoint("GET", "/orders", false, "produces=\"application/json\"", 1);
+        Endpoint csv = endpoint("GET", "/orders", false, "produces=\"text/csv\"", 2);
+
+        assertTrue(new MappingConflictDetector(List.of(json, csv)).findAllConflicts().isEmpty());
+    }
+
+    @Test
+    public void requestMappingWithoutMethodOverlapsEveryVerb() {
+        Endpoint any = endpoint("GET", "/orders", true, "", 1);
+        Endpoint post = endpoint("POST", "/orders", false, "", 2);
+        List<MappingConflictDetector.Conflict> conflicts = new MappingConflictDetector(List.of(any, post))
+                .findConflicts(post);
+
+        assertEquals(1, conflicts.size());
+        assertEquals(MappingConflictDetector.Kind.OVERLAPPING, conflicts.get(0).kind);
+    }
+
+    @Test
+    public void constantPathsAreSkipped() {
+        // Both are "/orders" plus a constant the index could not evaluate
+        Endpoint first = new Endpoint("GET", "/orders", "com.example.OrderController", "first", 1, false, "", true,
+                null);
+        Endpoint second = new Endpoint("GET", "/orders", "com.example.OrderController", "second", 2, false, "", true,
+                null);
+
+        assertTrue(new MappingConflictDetector(List.of(first, second)).findAllConflicts().isEmpty());
+    }
+
+    @Test
+    public void unclosedBracesDoNotFail() {
+        Endpoint brace = endpoint("GET", "/orders/{", false, "", 1);
+        Endpoint unclosed = endpoint("GET", "/orders/{id", false, "", 2);
+        Endpoint invalid = endpoint("GET", "/orders/{id:[0-9}", false, "", 3);
+
+        new MappingConflictDetector(List.of(brace, unclosed, invalid)).findAllConflicts();
+    }
+
+    private static Endpoint endpoint(String httpMethod, String path, boolean anyMethod, String conditions, int offset) {
+        return new Endpoint(httpMethod, path, "com.example.OrderController", "handle", offset, anyMethod, conditions,
+                false, null);
+    }
+}
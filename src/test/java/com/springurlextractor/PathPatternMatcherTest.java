@@ -0,0 +1,39 @@
+package com.springurlextractor;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// Half-typed patterns reach the matcher from unsaved editors and must never break it
+public class PathPatternMatcherTest {
+
+    @Test
+    public void unclosedBraceIsLiteral() {
+        assertTrue(PathPatternMatcher.compileSegment("{").matcher("{").matches());
+        assertTrue(PathPatternMatcher.compileSegment("{id").matcher("{id").matches());
+    }
+
+    @Test
+    public void invalidConstraintMatchesLikePlainVariable() {
+        assertTrue(PathPatternMatcher.compileSegment("{id:[0-9}").matcher("42").matches());
+    }
+
+    @Test
+    public void halfTypedPatternsAreMatched() {
+        Endpoint brace = endpoint("/orders/{");
+        Endpoint unclosed = endpoint("/orders/{id");
+        Endpoint invalid = endpoint("/items/{id:[0-9}");
+        PathPatternMatcher matcher = new PathPatternMatcher(List.of(brace, unclosed, invalid));
+
+        assertEquals(List.of(brace), matcher.match("/orders/{", "GET"));
+        assertEquals(List.of(unclosed), matcher.match("/orders/{id", "GET"));
+        assertEquals(List.of(invalid), matcher.match("/items/42", "GET"));
+    }
+
+    private static Endpoint endpoint(String path) {
+        return new Endpoint("GET", path, "com.example.OrderController", "handle", 0, null);
+    }
+}